@@ -0,0 +1,24 @@
+package com.example.demo.benchmark;
+
+import java.util.Random;
+
+// 벤치마크용 content : 같은 seed 로 만든 영어 문장 (문자 수 = UTF-8 byte 수)
+final class Contents {
+
+    private static final String[] WORDS = {
+            "spring", "boot", "post", "content", "cache", "index", "query", "server", "client", "request",
+            "response", "the", "a", "and", "of", "to", "in", "is", "for", "with"
+    };
+
+    private Contents() {
+    }
+
+    static String of(int size) {
+        Random random = new Random(size);
+        StringBuilder content = new StringBuilder(size + 16);
+        while (content.length() < size) {
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return content.substring(0, size);
+    }
+}
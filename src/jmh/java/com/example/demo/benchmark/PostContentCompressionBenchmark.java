@@ -0,0 +1,121 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.PostContentConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// content 압축 저장 on/off 비교 : H2 in-memory DB 에 POST_COUNT 건을 쓰고 읽는 시간 (JPA 없이 PostContentConverter + JDBC)
+// 할당량은 gc profiler 로 확인 (build.gradle 의 jmh 블록에 profilers = ['gc']), 압축 후 크기는 PostContentConverterUnitTest 에서 확인
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PostContentCompressionBenchmark {
+
+    private static final int POST_COUNT = 300;
+
+    private static final int[] CONTENT_LENGTHS = {200, 5_000, 50_000}; // 짧은 글, 보통 글, 최대 길이 글을 번갈아 저장
+
+    private static final String[] WORDS = {
+            "스프링부트", "게시글", "작성", "따라하기", "리액트", "데이터베이스", "트랜잭션", "조회", "캐시", "서버",
+            "클라이언트", "요청", "응답", "테스트", "오늘은", "내용을", "정리해", "보겠습니다", "그리고", "하지만",
+            "spring", "jpa", "h2", "api", "http", "json", "2022", "10", "."
+    };
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    private PostContentConverter converter;
+
+    private List<String> contents;
+
+    private Connection connection; // 연결을 닫으면 in-memory DB 도 사라짐
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        converter = new PostContentConverter(compression, PostContentConverter.DEFAULT_MIN_SIZE);
+        contents = contents();
+        connection = DriverManager.getConnection("jdbc:h2:mem:compression_" + compression, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table post (id bigint primary key, content varbinary(150008))");
+            statement.execute("create table post_write (id bigint primary key, content varbinary(150008))");
+        }
+        insert("post");
+    }
+
+    // write 가 매번 빈 테이블에 저장하도록 비움 (측정 시간에는 포함되지 않음)
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table post_write");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void write() throws SQLException {
+        insert("post_write");
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select content from post order by id")) {
+            while (rows.next()) {
+                blackhole.consume(converter.convertToEntityAttribute(rows.getBytes(1)));
+            }
+        }
+    }
+
+    private void insert(String table) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table + " (id, content) values (?, ?)")) {
+            for (int i = 0; i < contents.size(); i++) {
+                insert.setLong(1, i + 1);
+                insert.setBytes(2, converter.convertToDatabaseColumn(contents.get(i)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // 같은 seed 로 만든 한글/영어 섞인 문장 (실제 게시글 정도의 압축률)
+    private static List<String> contents() {
+        Random random = new Random(42);
+        List<String> contents = new ArrayList<>(POST_COUNT);
+        for (int i = 0; i < POST_COUNT; i++) {
+            int length = CONTENT_LENGTHS[i % CONTENT_LENGTHS.length];
+            StringBuilder content = new StringBuilder(length + 16);
+            while (content.length() < length) {
+                content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                if (random.nextInt(12) == 0) {
+                    content.append(random.nextInt(100_000)).append('\n');
+                }
+            }
+            contents.add(content.substring(0, length));
+        }
+        return contents;
+    }
+}
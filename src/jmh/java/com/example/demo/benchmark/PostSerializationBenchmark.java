@@ -0,0 +1,66 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// 응답으로 내려가는 Post 의 JSON 직렬화 비용 (content 크기별)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostSerializationBenchmark {
+
+    @Param({"100", "5000", "50000"})
+    private int contentSize;
+
+    private ObjectWriter writer;
+
+    private byte[] json;
+
+    private ObjectMapper objectMapper;
+
+    private Post post;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // Spring MVC 와 같은 설정 (java.time 모듈 등)
+        writer = objectMapper.writerFor(Post.class);
+        post = Post.builder()
+                .id(1L)
+                .title("벤치마크 게시글")
+                .content(Contents.of(contentSize))
+                .version(0L)
+                .modifiedAt(Instant.now()).build();
+        json = writer.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(post);
+    }
+
+    // 응답 스트림에 바로 쓰는 경우 (중간 byte[] 없음)
+    @Benchmark
+    public void serializeToStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), post);
+    }
+
+    @Benchmark
+    public Post deserialize() throws IOException {
+        return objectMapper.readValue(json, Post.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// PostService 의 저장/조회/수정/삭제를 실제 H2 + JPA 환경(웹 서버 없이)에서 측정
+// cacheWeight=0 이면 단건 조회 캐시가 바로 비워지므로 매번 DB 에서 읽음
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostServiceBenchmark {
+
+    private static final int SEED_COUNT = 1000;
+
+    @Param({"100", "5000", "50000"})
+    private int contentSize;
+
+    @Param({"20000000", "0"})
+    private long cacheWeight;
+
+    private ConfigurableApplicationContext context;
+
+    private PostService postService;
+
+    private WritePostReq writePostReq;
+
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "post.sql-trace.enabled=false",
+                        "post.cache.maximum-weight=" + cacheWeight)
+                .run();
+        postService = context.getBean(PostService.class);
+
+        writePostReq = WritePostReq.builder()
+                .title("벤치마크 게시글")
+                .content(Contents.of(contentSize)).build();
+
+        ids = new ArrayList<>(SEED_COUNT);
+        for (int i = 0; i < SEED_COUNT; i++) {
+            ids.add(postService.저장하기(writePostReq).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Post save() {
+        return postService.저장하기(writePostReq);
+    }
+
+    @Benchmark
+    public Post get() {
+        return postService.한건가져오기(randomId());
+    }
+
+    @Benchmark
+    public Post update() {
+        return postService.수정하기(randomId(), writePostReq, null);
+    }
+
+    // 삭제할 게시글이 계속 필요하므로 저장 + 삭제를 한번으로 측정 (삭제 비용 = saveAndDelete - save)
+    @Benchmark
+    public String saveAndDelete() {
+        Long id = postService.저장하기(writePostReq).getId();
+        return postService.삭제하기(id, null);
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
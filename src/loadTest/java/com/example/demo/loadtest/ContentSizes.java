@@ -0,0 +1,87 @@
+package com.example.demo.loadtest;
+
+import java.util.Random;
+
+// 게시글 content 크기 분포 : "크기:비율" 목록에서 비율에 따라 크기를 고름
+final class ContentSizes {
+
+    private static final String[] WORDS = {
+            "게시글", "내용", "부하", "테스트", "spring", "boot", "cache", "index", "query", "server",
+            "the", "a", "and", "of", "to", "in", "is", "for", "with", "data"
+    };
+
+    private final int[] sizes;
+
+    private final int[] cumulativeWeights;
+
+    private ContentSizes(int[] sizes, int[] cumulativeWeights) {
+        this.sizes = sizes;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static ContentSizes parse(String value) {
+        String[] entries = value.split(",");
+        int[] sizes = new int[entries.length];
+        int[] cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].trim().split(":");
+            sizes[i] = Integer.parseInt(entry[0].trim());
+            int weight = entry.length > 1 ? Integer.parseInt(entry[1].trim()) : 1;
+            if (sizes[i] < 0 || weight < 0) {
+                throw new IllegalArgumentException("loadtest.content-sizes 형식이 올바르지 않습니다. : " + value);
+            }
+            total += weight;
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("loadtest.content-sizes 의 비율 합이 0 입니다. : " + value);
+        }
+        return new ContentSizes(sizes, cumulativeWeights);
+    }
+
+    int sample(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return sizes[i];
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    // UTF-8 로 size byte 를 넘지 않는 content (한글은 3 byte)
+    String content(Random random) {
+        int size = sample(random);
+        StringBuilder content = new StringBuilder(size);
+        int bytes = 0;
+        while (true) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            int wordBytes = word.charAt(0) < 0x80 ? word.length() : word.length() * 3;
+            if (bytes + wordBytes + 1 > size) {
+                break;
+            }
+            content.append(word).append(' ');
+            bytes += wordBytes + 1;
+        }
+        while (bytes < size) {
+            content.append('.');
+            bytes++;
+        }
+        return content.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder value = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            if (i > 0) {
+                value.append(',');
+            }
+            value.append(sizes[i]).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return value.toString();
+    }
+}
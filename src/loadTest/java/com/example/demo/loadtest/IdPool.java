@@ -0,0 +1,41 @@
+package com.example.demo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 현재 존재하는 게시글 id 목록 (조회/수정/삭제 대상 선택용)
+// 삭제는 목록에서 먼저 빼고 요청 -> 같은 id 를 두번 삭제하지 않음
+final class IdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(Long id) {
+        ids.add(id);
+    }
+
+    synchronized void addAll(List<Long> newIds) {
+        ids.addAll(newIds);
+    }
+
+    // 비어 있으면 null
+    synchronized Long random(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    // 마지막 원소와 자리를 바꾼 뒤 제거 (O(1)), 하나 남으면 제거하지 않고 null
+    synchronized Long removeRandom(Random random) {
+        if (ids.size() <= 1) {
+            return null;
+        }
+        int index = random.nextInt(ids.size());
+        Long id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.dto.post.WritePostReq;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// 정해진 수의 worker 가 쉬지 않고 요청을 보내는 closed-loop 부하 (동시 요청 수 고정)
+// warmup 동안의 요청은 기록하지 않고, 이후 duration 동안의 지연 시간을 endpoint 별 HdrHistogram 에 기록 (마이크로초)
+final class LoadRunner {
+
+    private static final int SKIPPED = -1; // 대상 게시글이 없어 요청을 보내지 않음
+
+    private static final int FAILED = 0; // 연결 실패 등 응답을 받지 못함
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final PostClient client;
+
+    private final IdPool ids;
+
+    private final ContentSizes contentSizes;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    LoadRunner(PostClient client, IdPool ids, ContentSizes contentSizes, Duration warmup, Duration duration) {
+        this.client = client;
+        this.ids = ids;
+        this.contentSizes = contentSizes;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    PhaseResult run(Workload workload, int concurrency) throws InterruptedException {
+        Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS)); // 범위 자동 확장
+            errors.put(operation, new LongAdder());
+        }
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> work(workload, measureFrom, stopAt, recorders, errors)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("부하 테스트 worker 가 실패했습니다.", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(operation, histogram);
+                errorCounts.put(operation, errors.get(operation).sum());
+            }
+        }
+        return new PhaseResult(workload, concurrency, duration, histograms, errorCounts);
+    }
+
+    private void work(Workload workload, long measureFrom, long stopAt,
+                      Map<Operation, Recorder> recorders, Map<Operation, LongAdder> errors) {
+        Random random = ThreadLocalRandom.current();
+        while (System.nanoTime() < stopAt && !Thread.currentThread().isInterrupted()) {
+            Operation operation = workload.next(random);
+
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = execute(operation, random);
+            } catch (IOException e) {
+                status = FAILED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long end = System.nanoTime();
+
+            if (status == SKIPPED || start < measureFrom) {
+                continue;
+            }
+            recorders.get(operation).recordValue((end - start) / 1_000);
+            if (!PostClient.isSuccess(status)) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private int execute(Operation operation, Random random) throws IOException, InterruptedException {
+        switch (operation) {
+            case CREATE: {
+                Long id = client.save(writePostReq(random));
+                if (id == null) {
+                    return FAILED;
+                }
+                ids.add(id);
+                return 201;
+            }
+            case GET: {
+                Long id = ids.random(random);
+                return id == null ? SKIPPED : client.get(id);
+            }
+            case LIST:
+            case LIST_SUMMARY: {
+                Long after = random.nextInt(10) == 0 ? null : ids.random(random); // 10% 는 첫 페이지
+                return client.list(after, operation == Operation.LIST_SUMMARY);
+            }
+            case UPDATE: {
+                Long id = ids.random(random);
+                return id == null ? SKIPPED : client.update(id, writePostReq(random));
+            }
+            case DELETE: {
+                Long id = ids.removeRandom(random);
+                return id == null ? SKIPPED : client.delete(id);
+            }
+            default:
+                throw new IllegalArgumentException("알 수 없는 요청입니다. : " + operation);
+        }
+    }
+
+    private WritePostReq writePostReq(Random random) {
+        return WritePostReq.builder()
+                .title("부하 테스트 게시글 " + random.nextInt(1_000_000))
+                .content(contentSizes.content(random)).build();
+    }
+}
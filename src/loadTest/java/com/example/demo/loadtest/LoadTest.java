@@ -0,0 +1,95 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.post.WritePostReq;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 부하 테스트 : ./gradlew loadTest
+// 1. DemoApplication 을 임의 포트, 별도 H2 DB 로 실행
+// 2. content 크기 분포에 따라 게시글 N 개를 /post/batch 로 저장
+// 3. workload x 동시 요청 수 마다 warmup 후 duration 동안 요청을 보내고 endpoint 별 처리량/지연 시간 분포를 출력
+// 4. loadtest.stacks 에 여러 스택을 지정하면 스택마다 1~3 을 반복한 뒤 단계별 처리량을 나란히 출력
+// 단계들은 같은 데이터 위에서 차례로 실행됨 (write-heavy 이후에는 게시글 수가 늘어 있음)
+public final class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000; // PostService.MAX_BATCH_SIZE 이하
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("load test : " + config);
+
+        Report report = new Report(System.out);
+        for (String stack : config.getStacks()) {
+            run(stack, config, report);
+        }
+        report.printComparison();
+
+        Path file = report.write(config.getReportDir());
+        System.out.println();
+        System.out.println("report : " + file.toAbsolutePath());
+    }
+
+    // 스택마다 새 애플리케이션, 새 DB 에 같은 데이터를 저장하고 같은 단계를 실행
+    private static void run(String stack, LoadTestConfig config, Report report) throws Exception {
+        System.out.println();
+        System.out.println("stack : " + stack);
+
+        try (ConfigurableApplicationContext context = start(stack)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            PostClient client = new PostClient(port, context.getBean(ObjectMapper.class));
+
+            IdPool ids = seed(client, config);
+
+            LoadRunner runner = new LoadRunner(client, ids, config.getContentSizes(), config.getWarmup(), config.getDuration());
+            for (Workload workload : config.getWorkloads()) {
+                for (int concurrency : config.getConcurrencyLevels()) {
+                    report.add(stack, runner.run(workload, concurrency));
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String stack) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + stack,
+                        "spring.r2dbc.url=r2dbc:h2:mem:///loadtest-" + stack);
+        if (stack.equals(LoadTestConfig.STACK_REACTIVE)) {
+            builder.profiles(LoadTestConfig.STACK_REACTIVE);
+        }
+        return builder.run();
+    }
+
+    private static IdPool seed(PostClient client, LoadTestConfig config) throws Exception {
+        Random random = new Random(42); // 실행마다 같은 데이터
+        IdPool ids = new IdPool();
+        long start = System.nanoTime();
+
+        for (int saved = 0; saved < config.getPosts(); saved += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, config.getPosts() - saved);
+            List<WritePostReq> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(WritePostReq.builder()
+                        .title("게시글 " + (saved + i))
+                        .content(config.getContentSizes().content(random)).build());
+            }
+            ids.addAll(client.saveAll(batch));
+        }
+
+        System.out.printf("seeded %d posts in %d ms%n", ids.size(), (System.nanoTime() - start) / 1_000_000);
+        return ids;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 부하 테스트 설정 (system property, gradle 에서는 -Ploadtest.xxx=... 로 넘김)
+// - loadtest.posts         : 미리 저장해둘 게시글 수
+// - loadtest.content-sizes : content 크기(byte):비율 목록 (예: 100:70,5000:25,50000:5)
+// - loadtest.workloads     : 실행할 workload (read-heavy, write-heavy, list-heavy)
+// - loadtest.concurrency   : 동시 요청 수 목록 (workload 마다 차례로 실행)
+// - loadtest.warmup        : 단계마다 측정 전에 버리는 시간
+// - loadtest.duration      : 단계마다 측정 시간
+// - loadtest.stacks        : 실행할 서버 스택 목록 (servlet, reactive) - 여러 개면 스택마다 새로 띄워서 같은 단계를 반복하고 처리량을 나란히 비교
+final class LoadTestConfig {
+
+    static final String STACK_SERVLET = "servlet";
+
+    static final String STACK_REACTIVE = "reactive"; // spring.profiles.active=reactive (WebFlux + R2DBC)
+
+    private final List<String> stacks;
+
+    private final int posts;
+
+    private final ContentSizes contentSizes;
+
+    private final List<Workload> workloads;
+
+    private final List<Integer> concurrencyLevels;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    private final Path reportDir;
+
+    private LoadTestConfig(List<String> stacks, int posts, ContentSizes contentSizes, List<Workload> workloads,
+                           List<Integer> concurrencyLevels, Duration warmup, Duration duration, Path reportDir) {
+        this.stacks = stacks;
+        this.posts = posts;
+        this.contentSizes = contentSizes;
+        this.workloads = workloads;
+        this.concurrencyLevels = concurrencyLevels;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.reportDir = reportDir;
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        List<String> stacks = split(property("stacks", STACK_SERVLET));
+        for (String stack : stacks) {
+            if (!stack.equals(STACK_SERVLET) && !stack.equals(STACK_REACTIVE)) {
+                throw new IllegalArgumentException("알 수 없는 stack 입니다. (" + stack + ")");
+            }
+        }
+
+        int posts = Integer.parseInt(property("posts", "10000"));
+        if (posts < 1) {
+            throw new IllegalArgumentException("loadtest.posts 는 1 이상이어야 합니다.");
+        }
+
+        List<Workload> workloads = split(property("workloads", "read-heavy,write-heavy,list-heavy")).stream()
+                .map(Workload::of)
+                .collect(Collectors.toList());
+
+        List<Integer> concurrencyLevels = new ArrayList<>();
+        for (String level : split(property("concurrency", "1,8,32"))) {
+            int concurrency = Integer.parseInt(level);
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("loadtest.concurrency 는 1 이상이어야 합니다.");
+            }
+            concurrencyLevels.add(concurrency);
+        }
+
+        return new LoadTestConfig(
+                stacks,
+                posts,
+                ContentSizes.parse(property("content-sizes", "100:70,5000:25,50000:5")),
+                workloads,
+                concurrencyLevels,
+                DurationStyle.detectAndParse(property("warmup", "5s")),
+                DurationStyle.detectAndParse(property("duration", "20s")),
+                Paths.get(property("report-dir", "build/reports/loadtest")));
+    }
+
+    List<String> getStacks() {
+        return stacks;
+    }
+
+    int getPosts() {
+        return posts;
+    }
+
+    ContentSizes getContentSizes() {
+        return contentSizes;
+    }
+
+    List<Workload> getWorkloads() {
+        return workloads;
+    }
+
+    List<Integer> getConcurrencyLevels() {
+        return concurrencyLevels;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Path getReportDir() {
+        return reportDir;
+    }
+
+    @Override
+    public String toString() {
+        return "stacks=" + stacks
+                + ", posts=" + posts
+                + ", content-sizes=" + contentSizes
+                + ", workloads=" + workloads
+                + ", concurrency=" + concurrencyLevels
+                + ", warmup=" + warmup.getSeconds() + "s"
+                + ", duration=" + duration.getSeconds() + "s";
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.loadtest;
+
+// workload 를 이루는 요청 종류 (결과는 endpoint 별로 집계)
+enum Operation {
+
+    CREATE("POST /post"),
+    GET("GET /post/{id}"),
+    LIST("GET /post"),
+    LIST_SUMMARY("GET /post?view=summary"),
+    UPDATE("PUT /post/{id}"),
+    DELETE("DELETE /post/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+// 한 단계 (workload x 동시 요청 수) 의 endpoint 별 측정 결과
+final class PhaseResult {
+
+    private final Workload workload;
+
+    private final int concurrency;
+
+    private final Duration duration;
+
+    private final Map<Operation, Histogram> histograms; // 마이크로초, 요청이 있었던 endpoint 만
+
+    private final Map<Operation, Long> errors; // 2xx 가 아닌 응답 + 응답을 받지 못한 요청
+
+    PhaseResult(Workload workload, int concurrency, Duration duration,
+                Map<Operation, Histogram> histograms, Map<Operation, Long> errors) {
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.histograms = histograms;
+        this.errors = errors;
+    }
+
+    Workload getWorkload() {
+        return workload;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Map<Operation, Histogram> getHistograms() {
+        return histograms;
+    }
+
+    long getErrors(Operation operation) {
+        return errors.getOrDefault(operation, 0L);
+    }
+
+    long getTotalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 모든 endpoint 를 합친 분포
+    Histogram total() {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.dto.post.PostCursor;
+import com.example.demo.dto.post.WritePostReq;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// /post endpoint 호출 (JDK HttpClient, HTTP/1.1 keep-alive)
+// 응답 body 는 끝까지 읽어서 버림 -> 측정 시간에 전송 시간까지 포함
+final class PostClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String baseUrl;
+
+    PostClient(int port, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = "http://localhost:" + port + "/post";
+    }
+
+    // 생성된 id 목록 (요청 순서)
+    List<Long> saveAll(List<WritePostReq> writePostReqs) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+                jsonRequest("/batch").POST(json(writePostReqs)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        expectSuccess(response, "POST /post/batch");
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode id : objectMapper.readTree(response.body()).get("ids")) {
+            ids.add(id.asLong());
+        }
+        return ids;
+    }
+
+    // 생성된 id (실패하면 null)
+    Long save(WritePostReq writePostReq) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+                jsonRequest("").POST(json(writePostReq)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (!isSuccess(response.statusCode())) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    int get(Long id) throws IOException, InterruptedException {
+        return send(request("/" + id).GET().build());
+    }
+
+    // after 가 null 이면 첫 페이지
+    int list(Long after, boolean summary) throws IOException, InterruptedException {
+        StringBuilder query = new StringBuilder("?limit=20");
+        if (after != null) {
+            query.append("&after=").append(PostCursor.encode(after));
+        }
+        if (summary) {
+            query.append("&view=summary");
+        }
+        return send(request(query.toString()).GET().build());
+    }
+
+    int update(Long id, WritePostReq writePostReq) throws IOException, InterruptedException {
+        return send(jsonRequest("/" + id).PUT(json(writePostReq)).build());
+    }
+
+    int delete(Long id) throws IOException, InterruptedException {
+        return send(request("/" + id).DELETE().build());
+    }
+
+    static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder jsonRequest(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void expectSuccess(HttpResponse<?> response, String endpoint) {
+        if (!isSuccess(response.statusCode())) {
+            throw new IllegalStateException(endpoint + " 요청이 실패했습니다. : " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 단계별 결과를 콘솔 표로 출력하고, 모든 단계를 모아 CSV 로 저장 (여러 스택을 실행하면 스택별 처리량 비교표도 출력)
+final class Report {
+
+    private static final String TOTAL = "ALL";
+
+    private static final String CSV_HEADER =
+            "stack,workload,concurrency,endpoint,requests,throughput_rps,errors,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms";
+
+    private static final String ROW_FORMAT = "%-24s %9s %10s %7s %9s %9s %9s %9s %9s%n";
+
+    private final PrintStream out;
+
+    private final List<String> csvRows = new ArrayList<>();
+
+    private final Set<String> stacks = new LinkedHashSet<>();
+
+    private final Map<String, Map<String, Histogram>> totals = new LinkedHashMap<>(); // 단계 -> 스택 -> 전체 지연 시간 분포
+
+    private final Map<String, Duration> durations = new HashMap<>();
+
+    Report(PrintStream out) {
+        this.out = out;
+    }
+
+    void add(String stack, PhaseResult result) {
+        out.printf("%n[%s, %s, concurrency=%d, %ds]%n",
+                stack, result.getWorkload(), result.getConcurrency(), result.getDuration().getSeconds());
+        out.printf(ROW_FORMAT, "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Map.Entry<Operation, Histogram> entry : result.getHistograms().entrySet()) {
+            Operation operation = entry.getKey();
+            addRow(stack, result, operation.getEndpoint(), entry.getValue(), result.getErrors(operation));
+        }
+        Histogram total = result.total();
+        addRow(stack, result, TOTAL, total, result.getTotalErrors());
+
+        String phase = result.getWorkload().getLabel() + ", concurrency=" + result.getConcurrency();
+        stacks.add(stack);
+        totals.computeIfAbsent(phase, key -> new LinkedHashMap<>()).put(stack, total);
+        durations.put(phase, result.getDuration());
+    }
+
+    // 여러 스택을 실행한 경우 : 단계별 전체 처리량과 p99 를 스택끼리 나란히 출력
+    void printComparison() {
+        if (stacks.size() < 2) {
+            return;
+        }
+
+        StringBuilder format = new StringBuilder("%-32s");
+        List<Object> header = new ArrayList<>();
+        header.add("phase");
+        for (String stack : stacks) {
+            format.append(" %14s %12s");
+            header.add(stack + " req/s");
+            header.add("p99 ms");
+        }
+        format.append("%n");
+
+        out.printf("%n[stack comparison]%n");
+        out.printf(format.toString(), header.toArray());
+        for (Map.Entry<String, Map<String, Histogram>> entry : totals.entrySet()) {
+            List<Object> row = new ArrayList<>();
+            row.add(entry.getKey());
+            for (String stack : stacks) {
+                Histogram histogram = entry.getValue().get(stack);
+                row.add(histogram == null ? "-" : format("%.1f", throughput(histogram, durations.get(entry.getKey()))));
+                row.add(histogram == null ? "-" : millis(histogram.getValueAtPercentile(99)));
+            }
+            out.printf(format.toString(), row.toArray());
+        }
+    }
+
+    // 저장한 파일 경로
+    Path write(Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        String fileName = "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv";
+        Path file = reportDir.resolve(fileName);
+
+        List<String> lines = new ArrayList<>(csvRows.size() + 1);
+        lines.add(CSV_HEADER);
+        lines.addAll(csvRows);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private void addRow(String stack, PhaseResult result, String endpoint, Histogram histogram, long errors) {
+        long requests = histogram.getTotalCount();
+        double throughput = throughput(histogram, result.getDuration());
+        String p50 = millis(histogram.getValueAtPercentile(50));
+        String p90 = millis(histogram.getValueAtPercentile(90));
+        String p99 = millis(histogram.getValueAtPercentile(99));
+        String p999 = millis(histogram.getValueAtPercentile(99.9));
+        String max = millis(histogram.getMaxValue());
+
+        out.printf(ROW_FORMAT, endpoint, requests, format("%.1f", throughput), errors, p50, p90, p99, p999, max);
+        csvRows.add(String.join(",",
+                stack,
+                result.getWorkload().getLabel(),
+                String.valueOf(result.getConcurrency()),
+                "\"" + endpoint + "\"",
+                String.valueOf(requests),
+                format("%.1f", throughput),
+                String.valueOf(errors),
+                p50, p90, p99, p999, max));
+    }
+
+    private static double throughput(Histogram histogram, Duration duration) {
+        return histogram.getTotalCount() / (duration.toNanos() / 1e9);
+    }
+
+    // 마이크로초 -> 밀리초
+    private static String millis(long micros) {
+        return format("%.3f", micros / 1_000.0);
+    }
+
+    private static String format(String pattern, double value) {
+        return String.format(Locale.ROOT, pattern, value);
+    }
+}
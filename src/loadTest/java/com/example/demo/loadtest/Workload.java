@@ -0,0 +1,86 @@
+package com.example.demo.loadtest;
+
+import java.util.Random;
+
+// 요청 종류별 비율 (%)
+enum Workload {
+
+    READ_HEAVY("read-heavy", mix()
+            .with(Operation.GET, 85)
+            .with(Operation.LIST, 5)
+            .with(Operation.CREATE, 5)
+            .with(Operation.UPDATE, 5)),
+
+    WRITE_HEAVY("write-heavy", mix()
+            .with(Operation.CREATE, 40)
+            .with(Operation.UPDATE, 40)
+            .with(Operation.DELETE, 10)
+            .with(Operation.GET, 10)),
+
+    LIST_HEAVY("list-heavy", mix()
+            .with(Operation.LIST, 60)
+            .with(Operation.LIST_SUMMARY, 30)
+            .with(Operation.GET, 10));
+
+    private final String label;
+
+    private final int[] cumulativeWeights; // Operation.ordinal() 순서
+
+    Workload(String label, Mix mix) {
+        this.label = label;
+        this.cumulativeWeights = mix.cumulativeWeights();
+    }
+
+    static Workload of(String label) {
+        for (Workload workload : values()) {
+            if (workload.label.equals(label)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 workload 입니다. : " + label);
+    }
+
+    Operation next(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    private static Mix mix() {
+        return new Mix();
+    }
+
+    private static final class Mix {
+
+        private final int[] weights = new int[Operation.values().length];
+
+        Mix with(Operation operation, int weight) {
+            weights[operation.ordinal()] = weight;
+            return this;
+        }
+
+        int[] cumulativeWeights() {
+            int[] cumulative = new int[weights.length];
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+            return cumulative;
+        }
+    }
+}
@@ -1,23 +1,103 @@
 package com.example.demo.advice;
 
 import com.example.demo.dto.error.ErrorResponse;
+import com.example.demo.exception.PreconditionFailedException;
+import com.example.demo.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
 
+@RequiredArgsConstructor
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ObjectProvider<MeterRegistry> meterRegistry; // 테스트(@WebMvcTest)처럼 metrics 가 없는 환경에서는 집계하지 않음
+
+    private final ConcurrentMap<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>(); // 예외 종류별 Counter 는 한번만 만듦
+
     // 특정 예외 클래스 발생시 실행되도록 설정
     @ExceptionHandler({NoSuchElementException.class})
     protected ResponseEntity<ErrorResponse> handleNoSuchElementFoundException(NoSuchElementException e) {
+        countError(e, HttpStatus.NOT_FOUND);
+
         final ErrorResponse errorResponse = ErrorResponse.builder()
                 .code("Item Not Found")
                 .message(e.getMessage()).build();
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+
+    @ExceptionHandler({IllegalArgumentException.class})
+    protected ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        countError(e, HttpStatus.BAD_REQUEST);
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("Bad Request")
+                .message(e.getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler({ServiceBusyException.class})
+    protected ResponseEntity<ErrorResponse> handleServiceBusyException(ServiceBusyException e) {
+        countError(e, HttpStatus.SERVICE_UNAVAILABLE);
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("Service Unavailable")
+                .message(e.getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    // PostExecutors 작업이 post.async.timeout 안에 시작되지 못한 경우 (pool 대기열에서 시간 초과)
+    @ExceptionHandler({TimeoutException.class})
+    protected ResponseEntity<ErrorResponse> handleTimeoutException(TimeoutException e) {
+        countError(e, HttpStatus.SERVICE_UNAVAILABLE);
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("Service Unavailable")
+                .message("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.").build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    // If-Match 버전 불일치, 또는 동시에 수정되어 @Version 확인에 실패한 경우
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    protected ResponseEntity<ErrorResponse> handlePreconditionFailedException(RuntimeException e) {
+        countError(e, HttpStatus.PRECONDITION_FAILED);
+
+        final ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("Precondition Failed")
+                .message(new PreconditionFailedException().getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    // post.errors{exception, status} : 처리한 예외 종류별 건수
+    private void countError(Exception e, HttpStatus status) {
+        Counter counter = errorCounters.get(e.getClass());
+        if (counter == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            counter = errorCounters.computeIfAbsent(e.getClass(), type -> Counter.builder("post.errors")
+                    .description("GlobalExceptionHandler 가 처리한 예외 수")
+                    .tag("exception", type.getSimpleName())
+                    .tag("status", String.valueOf(status.value()))
+                    .register(registry));
+        }
+        counter.increment();
+    }
 }
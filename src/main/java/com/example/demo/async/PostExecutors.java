@@ -0,0 +1,156 @@
+package com.example.demo.async;
+
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.replication.ReadConsistency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// PostController 의 작업을 종류별로 분리된 thread pool 에서 실행 (post.async.enabled=true 일 때)
+// - list  : 목록/검색처럼 한번에 여러 게시글을 읽는 요청
+// - point : 단건 조회
+// - write : 생성/수정/삭제
+// 느린 목록 조회가 몰려도 list pool 만 차고, 단건 조회와 쓰기는 자기 pool 에서 계속 처리됨
+// 각 pool 은 스레드 수와 대기열 크기가 고정 : 대기열까지 가득 차면 기다리지 않고 바로 503, 대기열에서 timeout 이 지나도 503
+// (timeout 은 대기 시간에만 적용 - 실행을 시작한 작업은 끝까지 실행하고 결과를 응답)
+// 결과는 표준 DeferredResult (PostTask) 로 반환 - Spring MVC 의 async 처리로 응답
+// 꺼져 있으면 요청 스레드(Tomcat)에서 바로 실행하고 결과가 이미 정해진 DeferredResult 를 반환
+// metrics : executor.*{name=post-list|post-point|post-write} (스레드/대기열), post.executor.wait{pool}, post.executor.rejected{pool}
+@Component
+public class PostExecutors {
+
+    public enum Pool {
+        LIST, POINT, WRITE;
+
+        private String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final boolean enabled;
+
+    private final long timeoutMillis;
+
+    private final Map<Pool, ThreadPoolExecutor> executors = new EnumMap<>(Pool.class);
+
+    private ScheduledThreadPoolExecutor timeouts; // 대기열 시간 초과 예약 (작업이 시작되면 바로 취소)
+
+    private final Map<Pool, Timer> waitTimers = new EnumMap<>(Pool.class); // metrics 가 없으면 비어 있음
+
+    private final Map<Pool, Counter> rejectedCounters = new EnumMap<>(Pool.class);
+
+    public PostExecutors(ObjectProvider<MeterRegistry> meterRegistry, // 테스트(@WebMvcTest)처럼 metrics 가 없는 환경에서는 집계하지 않음
+                         @Value("${post.async.enabled:false}") boolean enabled,
+                         @Value("${post.async.timeout:10s}") Duration timeout,
+                         @Value("${post.async.list.threads:4}") int listThreads,
+                         @Value("${post.async.list.queue-capacity:16}") int listQueueCapacity,
+                         @Value("${post.async.point.threads:32}") int pointThreads,
+                         @Value("${post.async.point.queue-capacity:256}") int pointQueueCapacity,
+                         @Value("${post.async.write.threads:8}") int writeThreads,
+                         @Value("${post.async.write.queue-capacity:64}") int writeQueueCapacity) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeout.toMillis();
+        if (!enabled) {
+            return;
+        }
+
+        executors.put(Pool.LIST, executor(Pool.LIST, listThreads, listQueueCapacity));
+        executors.put(Pool.POINT, executor(Pool.POINT, pointThreads, pointQueueCapacity));
+        executors.put(Pool.WRITE, executor(Pool.WRITE, writeThreads, writeQueueCapacity));
+        timeouts = new ScheduledThreadPoolExecutor(1, threadFactory("post-timeout-"));
+        timeouts.setRemoveOnCancelPolicy(true);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            for (Pool pool : Pool.values()) {
+                new ExecutorServiceMetrics(executors.get(pool), "post-" + pool.label(), Tags.empty()).bindTo(registry);
+                waitTimers.put(pool, Timer.builder("post.executor.wait")
+                        .description("작업이 pool 대기열에서 기다린 시간")
+                        .tag("pool", pool.label())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry));
+                rejectedCounters.put(pool, Counter.builder("post.executor.rejected")
+                        .description("pool 이 가득 차서 거절한 작업 수")
+                        .tag("pool", pool.label())
+                        .register(registry));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        if (timeouts != null) {
+            timeouts.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 작업의 예외(PostNotFoundException 등)는 DeferredResult 의 error 로 그대로 전달되어 GlobalExceptionHandler 가 처리
+    public <T> PostTask<T> submit(Pool pool, Supplier<T> task) {
+        PostTask<T> result = new PostTask<>();
+        if (!enabled) {
+            result.run(task);
+            return result;
+        }
+
+        long queuedAt = System.nanoTime();
+        Timer waitTimer = waitTimers.get(pool);
+        result.expireAfter(timeouts, timeoutMillis); // 대기열에 있는 동안 시간이 지나면 실행하지 않음
+        try {
+            // 요청 스레드의 read-your-writes 위치를 pool 스레드에도 전달
+            executors.get(pool).execute(ReadConsistency.wrap(() -> {
+                if (waitTimer != null) {
+                    waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                }
+                result.run(task);
+            }));
+        } catch (RejectedExecutionException e) {
+            Counter rejected = rejectedCounters.get(pool);
+            if (rejected != null) {
+                rejected.increment();
+            }
+            result.expire(new ServiceBusyException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+            return result;
+        }
+        return result;
+    }
+
+    // 대기열이 가득 차면 AbortPolicy 로 바로 거절 (호출한 스레드에서 실행하지 않음)
+    private static ThreadPoolExecutor executor(Pool pool, int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory("post-" + pool.label() + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.async;
+
+import com.example.demo.metrics.StatementCounter;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// PostExecutors 가 반환하는 DeferredResult : 작업을 실행한 스레드에서 센 SQL 문장 수를 같이 가짐
+// (StatementCounter 는 스레드별로 세므로 요청 스레드에서는 pool 에서 실행된 문장을 알 수 없음)
+// 시간 초과는 대기열에 있는 동안만 적용 : 실행을 시작한 작업은 끝까지 실행하고 그 결과를 응답 (commit 된 쓰기가 503 으로 응답되지 않음)
+// 예외는 setErrorResult 로 전달 -> Spring 이 async dispatch 에서 다시 던져서 GlobalExceptionHandler 가 처리
+public class PostTask<T> extends DeferredResult<T> {
+
+    private static final int NEW = 0;
+
+    private static final int STARTED = 1;
+
+    private static final int EXPIRED = 2; // 시작 전에 시간 초과 또는 거절
+
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    private final CompletableFuture<T> completion = new CompletableFuture<>(); // 결과와 같은 값으로 완료 (metrics, 테스트용)
+
+    private volatile ScheduledFuture<?> expiry;
+
+    private volatile int statements;
+
+    public int getStatements() {
+        return statements;
+    }
+
+    // 작업이 끝나면(결과, 예외, 시간 초과, 거절) 완료됨
+    public CompletionStage<T> completion() {
+        return completion.minimalCompletionStage();
+    }
+
+    // timeoutMillis 안에 시작하지 못하면 TimeoutException (503) 으로 완료하고 실행하지 않음
+    void expireAfter(ScheduledExecutorService scheduler, long timeoutMillis) {
+        expiry = scheduler.schedule(() -> expire(new TimeoutException("pool 대기 시간을 초과했습니다.")), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 아직 시작하지 않은 작업만 실패로 완료 (대기열 시간 초과, pool 거절)
+    void expire(Exception cause) {
+        if (state.compareAndSet(NEW, EXPIRED)) {
+            cancelExpiry();
+            fail(cause);
+        }
+    }
+
+    // 이미 끝난 작업 (대기 중에 시간 초과된 경우 등) 은 실행하지 않음
+    void run(Supplier<T> task) {
+        if (!state.compareAndSet(NEW, STARTED)) {
+            return;
+        }
+        cancelExpiry();
+
+        int before = StatementCounter.count();
+        T value;
+        try {
+            value = task.get();
+        } catch (RuntimeException | Error e) {
+            statements = StatementCounter.count() - before;
+            fail(e);
+            return;
+        }
+        statements = StatementCounter.count() - before;
+        setResult(value);
+        completion.complete(value);
+    }
+
+    private void fail(Throwable cause) {
+        setErrorResult(cause);
+        completion.completeExceptionally(cause);
+    }
+
+    private void cancelExpiry() {
+        ScheduledFuture<?> expiry = this.expiry;
+        if (expiry != null) {
+            expiry.cancel(false); // 시간 초과 예약을 바로 지움 (완료된 작업을 timeout 까지 붙잡아 두지 않음)
+        }
+    }
+}
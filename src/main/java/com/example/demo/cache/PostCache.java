@@ -0,0 +1,112 @@
+package com.example.demo.cache;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostCacheStatsRes;
+import com.example.demo.event.PostChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// 게시글 단건 조회용 in-process 캐시 (read-through)
+// - 크기 제한 : 게시글 수가 아니라 content 길이 합계(weight) 기준으로 제한 -> 큰 게시글 몇 개가 메모리를 독차지하지 않음
+// - TTL : 마지막 저장 이후 일정 시간이 지나면 만료
+// - 무효화 세대(generation) : 조회 중에 수정이 commit 되면 조회한 (이전) 값은 캐시에 남기지 않음
+@Profile("!reactive") // 무효화는 JPA commit 이벤트로만 일어나므로 R2DBC 로 쓰는 reactive 프로필에서는 만들지 않음
+@Component
+public class PostCache {
+
+    private static final int ENTRY_OVERHEAD = 64; // 제목/id/객체 헤더 등 content 외의 대략적인 크기
+
+    private final Cache<Long, Post> cache;
+
+    private static final int GENERATION_STRIPES = 1024; // 2의 거듭제곱
+
+    private final SingleFlight<Long, Post> loads; // 같은 id 의 동시 miss 는 DB 조회 한번으로 합침
+
+    // id 별 무효화 횟수 (id 를 stripe 로 나눠서 고정 크기로 유지 - 같은 stripe 의 다른 id 가 수정되면 저장을 한번 건너뛸 뿐)
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public PostCache(@Value("${post.cache.maximum-weight:20000000}") long maximumWeight,
+                     @Value("${post.cache.ttl:10m}") Duration ttl,
+                     @Value("${post.cache.load-timeout:2s}") Duration loadTimeout) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long id, Post post) -> weigh(post))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loads = new SingleFlight<>(loadTimeout.toMillis());
+    }
+
+    // 캐시에 있으면 바로 반환, 없으면 loader 로 조회한 뒤 캐시에 저장
+    // loader 가 예외를 던지면 (없는 id 등) 캐시에는 아무것도 저장하지 않고, 기다리던 요청들도 같은 예외를 받음
+    public Post get(Long id, Supplier<Post> loader) {
+        Post cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        return loads.execute(id, () -> {
+            int stripe = stripe(id);
+            long generation = generations.get(stripe); // DB 를 읽기 전의 세대
+            Post loaded = loader.get();
+            cache.put(id, loaded); // leader 가 끝나기 전에 저장 -> 이후 요청은 캐시 hit
+            if (generations.get(stripe) != generation) {
+                // 조회하는 동안 commit 된 수정/삭제의 무효화가 먼저 지나갔음 -> 이전 값일 수 있으므로 다시 제거
+                cache.asMap().remove(id, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    // 캐시에 있는 경우에만 반환 (없어도 조회하지 않음, hit/miss 통계에도 포함하지 않음)
+    public Post peek(Long id) {
+        return cache.asMap().get(id);
+    }
+
+    // commit 이후에만 무효화 -> 다른 요청이 commit 되지 않은 값을 캐시에서 읽는 일이 없음
+    // (수정 시에도 갱신 대신 제거 : 다음 조회에서 commit 된 값을 다시 읽어옴)
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.CREATED) {
+            generations.incrementAndGet(stripe(event.getId())); // 제거보다 먼저 올려야 진행 중인 조회가 저장한 값을 지울 수 있음
+            cache.invalidate(event.getId());
+        }
+    }
+
+    public PostCacheStatsRes stats() {
+        CacheStats stats = cache.stats();
+        return PostCacheStatsRes.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .estimatedSize(cache.estimatedSize())
+                .weightedSize(cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .loadCount(loads.getLoadCount())
+                .coalescedCount(loads.getCoalescedCount())
+                .coalesceTimeoutCount(loads.getTimeoutCount())
+                .build();
+    }
+
+    private static int stripe(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L; // 연속된 id 를 고르게 분산
+        return (int) (h >>> 32) & (GENERATION_STRIPES - 1);
+    }
+
+    private static int weigh(Post post) {
+        String content = post.getContent();
+        return ENTRY_OVERHEAD + (content == null ? 0 : content.length());
+    }
+}
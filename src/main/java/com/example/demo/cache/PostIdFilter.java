@@ -0,0 +1,126 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.shard.PostShards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// 존재하는 게시글 id 의 bitmap (id 번째 bit 가 1 이면 존재할 수 있음)
+// - 조회/수정/삭제 전에 확인해서, 확실히 없는 id 는 DB 를 거치지 않고 바로 404
+// - 저장 : persist 시점에 바로 bit 를 켬 (rollback 되어도 켜진 채로 남지만 DB 조회로 넘어갈 뿐 결과는 같음)
+// - 삭제 : commit 이후에 bit 를 끔
+// - 서버 시작 시 DB 의 id 로 다시 만듦 (그 전에는 모든 id 를 "있을 수 있음" 으로 취급)
+// 읽기는 lock 없이, 쓰기(bit 변경/배열 확장)만 synchronized 로 처리
+@Profile("!reactive") // reactive 프로필의 저장/삭제는 Hibernate 를 거치지 않아 bit 를 갱신할 수 없음
+@RequiredArgsConstructor
+@Component
+public class PostIdFilter {
+
+    // 이 값보다 큰 id 는 추적하지 않음 (항상 DB 조회) - bitmap 최대 16MB
+    public static final long MAX_TRACKED_ID = 1L << 27;
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(1024);
+
+    private volatile boolean ready = false;
+
+    // 확실히 없는 id 인지 확인 (false 면 있을 수도 있으므로 DB 조회 필요)
+    public boolean isKnownMissing(Long id) {
+        if (!ready || id == null || id < 0 || id >= MAX_TRACKED_ID) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int index = wordIndex(id);
+        return index >= current.length() || (current.get(index) & bit(id)) == 0;
+    }
+
+    public void add(Long id) {
+        if (id == null || id < 0 || id >= MAX_TRACKED_ID) {
+            return;
+        }
+        synchronized (this) {
+            AtomicLongArray current = ensureCapacity(wordIndex(id));
+            current.set(wordIndex(id), current.get(wordIndex(id)) | bit(id));
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null || id < 0 || id >= MAX_TRACKED_ID) {
+            return;
+        }
+        synchronized (this) {
+            AtomicLongArray current = words;
+            int index = wordIndex(id);
+            if (index < current.length()) {
+                current.set(index, current.get(index) & ~bit(id));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getId());
+        }
+    }
+
+    // shard 를 사용하면 모든 shard 의 id 를 읽은 뒤에 사용 시작
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        postShards.forEachShard(() -> {
+            try (Stream<Long> ids = postRepository.streamAllIds()) {
+                ids.forEach(this::add);
+            }
+        });
+        ready = true;
+    }
+
+    // 기존 bit 는 지우지 않고 추가만 함 -> rebuild 도중 저장된 id 도 유지됨
+    public void load(Stream<Long> ids) {
+        ids.forEach(this::add);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private AtomicLongArray ensureCapacity(int index) {
+        AtomicLongArray current = words;
+        if (index < current.length()) {
+            return current;
+        }
+
+        int length = current.length();
+        while (length <= index) {
+            length *= 2;
+        }
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+        return grown;
+    }
+
+    private static int wordIndex(long id) {
+        return (int) (id >>> 6);
+    }
+
+    private static long bit(long id) {
+        return 1L << (id & 63);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.cache;
+
+import com.example.demo.domain.Post;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PersistEvent;
+import org.hibernate.event.spi.PersistEventListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+// Hibernate persist 이벤트에 등록해서, 게시글이 persist 되는 즉시 PostIdFilter 에 id 를 추가
+// (Repository 를 직접 사용해서 저장하는 경우도 빠짐없이 반영하기 위해 서비스가 아닌 Hibernate 단계에서 처리)
+// 시퀀스 전략이라 기본 persist 처리 이후에는 id 가 할당되어 있음
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Component
+public class PostIdPersistListener implements PersistEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final PostIdFilter postIdFilter;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PERSIST, this); // 기본 listener 뒤에 실행됨
+    }
+
+    @Override
+    public void onPersist(PersistEvent event) {
+        added(event.getObject());
+    }
+
+    @Override
+    public void onPersist(PersistEvent event, Map createdAlready) {
+        added(event.getObject());
+    }
+
+    private void added(Object entity) {
+        if (entity instanceof Post) {
+            postIdFilter.add(((Post) entity).getId());
+        }
+    }
+}
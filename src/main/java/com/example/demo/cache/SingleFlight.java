@@ -0,0 +1,90 @@
+package com.example.demo.cache;
+
+import com.example.demo.exception.ServiceBusyException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 같은 key 에 대한 동시 조회를 하나로 합침 (request coalescing)
+// 먼저 들어온 요청(leader)만 loader 를 실행하고, 그 사이에 들어온 요청들은 leader 의 결과(또는 예외)를 같이 받는다.
+// -> 인기 게시글이 캐시에서 빠진 순간 수백개의 요청이 동시에 DB 를 조회하는 thundering herd 방지
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis; // leader 의 결과를 기다리는 최대 시간
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public SingleFlight(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCount.increment();
+            return await(existing);
+        }
+
+        loadCount.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCount.increment();
+            throw new ServiceBusyException("요청이 많아 처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("요청 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            // leader 가 던진 예외를 그대로 전달 (없는 id 면 NoSuchElementException -> 404)
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+// reactive 프로필 : R2DBC ConnectionFactory 가 있으면 spring boot 가 DataSource 를 만들지 않음 (DataSourceAutoConfiguration)
+// 테이블/시퀀스는 JPA (ddl-auto) 가 만들므로 spring.datasource 로 JDBC DataSource 를 직접 등록
+// (요청은 모두 R2DBC 로 처리하고, JDBC 커넥션은 스키마 생성과 테스트의 게시글 준비에만 사용)
+@Profile("reactive")
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+}
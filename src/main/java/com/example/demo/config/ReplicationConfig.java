@@ -0,0 +1,100 @@
+package com.example.demo.config;
+
+import com.example.demo.replication.ReadConsistencyFilter;
+import com.example.demo.replication.Replica;
+import com.example.demo.replication.ReplicatedDataSource;
+import com.example.demo.replication.ReplicationLog;
+import com.example.demo.replication.ReplicationPositionInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// post.datasource.routing.enabled=true 이면 spring.datasource 를 primary 로, replica-urls 의 DB 들을 읽기 전용 복제본으로 사용
+// - @Transactional(readOnly = true) 는 replica, 나머지는 primary 에서 실행 (ReplicatedDataSource)
+// - primary 에서 commit 된 쓰기는 ReplicationLog 가 모든 replica 에 같은 순서로 적용 (H2 in-memory DB 끼리도 동작)
+// - replica 는 primary 와 같은 드라이버/계정을 사용하고, 스키마도 primary 의 DDL 을 복제해서 만듦
+@Configuration
+@ConditionalOnProperty(prefix = "post.datasource.routing", name = "enabled", havingValue = "true")
+@ConditionalOnExpression("!${post.sharding.enabled:false}") // 함께 켜면 ShardingConfig 가 시작을 막음
+public class ReplicationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationConfig.class);
+
+    @Bean
+    public ReplicationLog replicationLog(DataSourceProperties properties,
+                                         @Value("${post.datasource.routing.replica-urls}") List<String> replicaUrls,
+                                         @Value("${post.datasource.routing.max-lag:1s}") Duration maxLag,
+                                         @Value("${post.datasource.routing.replication-delay:0ms}") Duration replicationDelay) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .build();
+            dataSource.setPoolName(name);
+            replicas.add(new Replica(name, dataSource, replicationDelay));
+        }
+        return new ReplicationLog(replicas, maxLag);
+    }
+
+    // spring boot 의 기본 DataSource 대신 사용 (DataSource 빈이 있으면 자동 설정이 만들지 않음)
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicationLog replicationLog) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return new ReplicatedDataSource(primary, replicationLog);
+    }
+
+    // 모든 빈이 만들어진 뒤 (= ddl-auto 로 스키마를 만든 뒤) replica 가 따라오면 읽기를 replica 로 보내기 시작
+    // ApplicationReadyEvent 에서 readOnly 트랜잭션으로 실행되는 작업 (PostIdFilter.rebuild) 도 replica 에서 읽게 됨
+    @Bean
+    public SmartInitializingSingleton replicationActivator(ReplicationLog replicationLog,
+                                                           @Value("${post.datasource.routing.replication-delay:0ms}") Duration replicationDelay) {
+        return () -> {
+            try {
+                if (!replicationLog.awaitCaughtUp(replicationDelay.plusSeconds(10))) {
+                    log.warn("replica 가 시작 시점의 스키마를 아직 복제하지 못했습니다. 복제가 따라올 때까지 지연 허용 범위를 넘은 replica 는 읽기에서 제외됩니다.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            replicationLog.activate();
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "post.datasource.routing", name = "read-your-writes", havingValue = "true")
+    public ReadConsistencyFilter readConsistencyFilter() {
+        return new ReadConsistencyFilter();
+    }
+
+    // 쓰기 응답에 X-Replication-Position 헤더 추가 (ReplicationPositionInterceptor)
+    @Bean
+    @ConditionalOnProperty(prefix = "post.datasource.routing", name = "read-your-writes", havingValue = "true")
+    public WebMvcConfigurer replicationPositionConfigurer(ReplicationLog replicationLog) {
+        ReplicationPositionInterceptor interceptor = new ReplicationPositionInterceptor(replicationLog);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import com.example.demo.shard.ShardRoutingDataSource;
+import com.example.demo.shard.ShardSchema;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// post.sharding.enabled=true 이면 spring.datasource (shard 0) 와 shard-urls 의 DB 들에 게시글을 id 블록 단위로 나누어 저장 (PostShards)
+// shard 는 spring.datasource 와 같은 드라이버/계정을 사용하고, 스키마는 shard 0 의 DDL 을 그대로 실행해서 만듦
+// write-behind (여러 게시글을 한 트랜잭션으로 묶음), 읽기 복제본 라우팅 (DataSource 를 따로 구성), reactive 프로필 (R2DBC 커넥션은 shard 를 모름) 은 함께 사용할 수 없음
+@Configuration
+@ConditionalOnProperty(prefix = "post.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(Environment environment,
+                          @Value("${post.write-behind.enabled:false}") boolean writeBehindEnabled,
+                          @Value("${post.datasource.routing.enabled:false}") boolean routingEnabled) {
+        if (writeBehindEnabled || routingEnabled) {
+            throw new IllegalStateException("post.sharding 은 post.write-behind, post.datasource.routing 과 함께 사용할 수 없습니다.");
+        }
+        if (environment.acceptsProfiles(Profiles.of("reactive"))) {
+            throw new IllegalStateException("post.sharding 은 reactive 프로필과 함께 사용할 수 없습니다. (R2DBC 는 shard 를 나누지 않고 spring.r2dbc.url 에만 연결)");
+        }
+    }
+
+    @Bean
+    public ShardSchema shardSchema() {
+        return new ShardSchema();
+    }
+
+    // spring boot 의 기본 DataSource 대신 사용
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ShardSchema shardSchema,
+                                 @Value("${post.sharding.shard-urls}") List<String> shardUrls) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        shards.add(shard(properties, properties.determineUrl(), 0));
+        for (int i = 0; i < shardUrls.size(); i++) {
+            shards.add(shard(properties, shardUrls.get(i), i + 1));
+        }
+        return new ShardRoutingDataSource(shards, shardSchema);
+    }
+
+    // 모든 빈이 만들어진 뒤 (= ddl-auto 로 shard 0 의 스키마를 만든 뒤) 나머지 shard 에 스키마를 만들고 시퀀스를 나눔
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(DataSource dataSource, ShardSchema shardSchema) {
+        return () -> {
+            try {
+                shardSchema.apply(dataSource.unwrap(ShardRoutingDataSource.class).getShards());
+            } catch (SQLException e) {
+                throw new IllegalStateException("shard 스키마를 만들 수 없습니다.", e);
+            }
+        };
+    }
+
+    private static HikariDataSource shard(DataSourceProperties properties, String url, int shard) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName("shard-" + shard);
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import com.example.demo.metrics.SqlTraceLogger;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// post.sql-trace.enabled=true 이면 DataSource 를 datasource-proxy 로 감싸서 SQL 실행 시간을 SqlTraceLogger 로 전달
+@Configuration
+@ConditionalOnProperty(prefix = "post.sql-trace", name = "enabled", havingValue = "true")
+public class SqlTraceConfig {
+
+    @Bean
+    public SqlTraceLogger sqlTraceLogger(@Value("${post.sql-trace.slow-threshold:100ms}") Duration slowThreshold,
+                                         @Value("${post.sql-trace.sample-rate:0.01}") double sampleRate,
+                                         @Value("${post.sql-trace.buffer-size:1000}") int bufferSize) {
+        return new SqlTraceLogger(slowThreshold, sampleRate, bufferSize);
+    }
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 등록하고, logger 는 DataSource 를 감쌀 때 가져옴
+    @Bean
+    public static BeanPostProcessor sqlTraceDataSourcePostProcessor(ObjectProvider<SqlTraceLogger> sqlTraceLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                            .listener(sqlTraceLogger.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.controller;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostVersion;
+import com.example.demo.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// 게시글 ETag (버전 기반 strong ETag) 생성과 조건부 요청 헤더 처리
+final class ConditionalRequest {
+
+    private ConditionalRequest() {
+    }
+
+    static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // 목록 ETag : 페이지에 포함된 게시글의 (id, version) 과 다음 커서로 계산
+    static String eTag(List<Post> posts, String nextCursor) {
+        CRC32 crc = new CRC32();
+        StringBuilder key = new StringBuilder();
+        for (Post post : posts) {
+            key.append(post.getId()).append(':').append(post.getVersion()).append(',');
+        }
+        key.append(nextCursor);
+        crc.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + posts.size() + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    // 조건부 GET 여부 : 아니면 버전을 따로 조회하지 않고 바로 본문을 조회
+    static boolean isConditional(WebRequest request) {
+        return isConditional(request.getHeader(HttpHeaders.IF_NONE_MATCH), request.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    static boolean isConditional(String ifNoneMatch, String ifModifiedSince) {
+        return ifNoneMatch != null || ifModifiedSince != null;
+    }
+
+    // If-None-Match 가 있으면 ETag 로만 판단하고, 없을 때만 If-Modified-Since 로 판단 (RFC 7232)
+    static boolean isNotModified(WebRequest request, PostVersion version) {
+        return isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), request.getHeader(HttpHeaders.IF_MODIFIED_SINCE), version);
+    }
+
+    // 헤더 값으로 판단 (reactive 스택에서 사용)
+    static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, PostVersion version) {
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, eTag(version.getVersion()));
+        }
+
+        if (ifModifiedSince != null && version.getModifiedAt() != null) {
+            try {
+                Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return version.getModifiedAt().getEpochSecond() <= since.getEpochSecond(); // HTTP 날짜는 초 단위
+            } catch (DateTimeParseException e) {
+                return false; // 형식이 잘못된 헤더는 무시
+            }
+        }
+        return false;
+    }
+
+    // ETag (버전) 와 Last-Modified 헤더 설정
+    static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Long version, Instant modifiedAt) {
+        if (version != null) {
+            builder.eTag(eTag(version));
+        }
+        if (modifiedAt != null) {
+            builder.lastModified(modifiedAt);
+        }
+        return builder;
+    }
+
+    // If-Match 헤더의 버전 (없거나 * 이면 버전 확인을 하지 않음)
+    // If-Match 는 strong 비교 (RFC 7232) : weak ETag 는 어떤 버전과도 일치하지 않으므로 412
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException();
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match 헤더 형식이 올바르지 않습니다.");
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2); // If-None-Match 는 weak 비교
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,55 +1,248 @@
 package com.example.demo.controller;
 
+import com.example.demo.async.PostExecutors;
 import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostCacheStatsRes;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostSearchHit;
+import com.example.demo.dto.post.PostSearchStatsRes;
+import com.example.demo.dto.post.PostStatsRes;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
 import com.example.demo.dto.post.WritePostReq;
 import com.example.demo.service.PostService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+@Profile("!reactive") // reactive 프로필에서는 ReactivePostController 가 같은 API 를 제공 (검색, 통계, 변경 이벤트 제외)
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RequestMapping("/post") // 공통적인 url은 class에 @RequestMapping으로 설정해준다.
 @RestController // @Controller + @ResponseBody (Java 객체를 HTTP 요청의 Body 내용으로 매핑하여 반환한다.)
 public class PostController {
 
+    static final String CONTENT_TYPE_TEXT = "text/plain;charset=UTF-8";
+
     private final PostService postService;
 
-    @ApiOperation(value = "게시글을 등록", notes = "게시글을 등록합니다.") // Swagger 설명 설정
+    private final ObjectMapper objectMapper;
+
+    private final PostExecutors postExecutors; // 목록/단건 조회/쓰기 작업을 각자의 pool 에서 실행하고 DeferredResult 로 응답 (post.async.enabled)
+
+    @ApiOperation(value = "게시글을 등록", notes = "게시글을 등록합니다. (write-behind 모드에서는 id 를 할당해서 접수만 하고 202 로 응답, 저장 대기열이 가득 차면 503)") // Swagger 설명 설정
     @PostMapping("")
-    public ResponseEntity<Post> save(@RequestBody WritePostReq writePostReq) {
-        return new ResponseEntity<>(postService.저장하기(writePostReq), HttpStatus.CREATED);
+    public DeferredResult<ResponseEntity<Post>> save(@RequestBody WritePostReq writePostReq) {
+        return postExecutors.submit(PostExecutors.Pool.WRITE, () -> {
+            if (postService.지연저장사용중()) {
+                // 아직 commit 되지 않았으므로 201 대신 202 (Accepted)
+                return new ResponseEntity<>(postService.저장접수하기(writePostReq), HttpStatus.ACCEPTED);
+            }
+            return new ResponseEntity<>(postService.저장하기(writePostReq), HttpStatus.CREATED);
+        });
+    }
+
+    @ApiOperation(value = "게시글 여러건 등록", notes = "게시글 배열을 한 트랜잭션으로 등록하고, 요청 순서대로 생성된 id 를 반환합니다. (최대 " + PostService.MAX_BATCH_SIZE + "건)")
+    @PostMapping("/batch")
+    public DeferredResult<ResponseEntity<BatchWriteRes>> saveAll(@RequestBody List<WritePostReq> writePostReqs) {
+        return postExecutors.submit(PostExecutors.Pool.WRITE, () ->
+                new ResponseEntity<>(postService.여러건저장하기(writePostReqs), HttpStatus.CREATED));
     }
 
-    @ApiOperation(value = "게시글 전체 조회", notes = "게시글을 전체 조회합니다.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "after", value = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @ApiImplicitParam(name = "limit", value = "페이지 크기 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 페이지 조회", notes = "커서(keyset) 기반으로 게시글을 id 순서대로 조회합니다. (If-None-Match 가 일치하면 304)")
     @GetMapping("")
-    public ResponseEntity<List<Post>> findAll() {
-        return new ResponseEntity<>(postService.모두가져오기(), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<PostPageRes<Post>>> findPage(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int limit) {
+        return postExecutors.submit(PostExecutors.Pool.LIST, () -> {
+            PostPageRes<Post> page = postService.페이지가져오기(after, limit);
+            // ETag 가 If-None-Match 와 일치하면 Spring 이 body 없이 304 로 응답
+            return ResponseEntity.ok()
+                    .eTag(ConditionalRequest.eTag(page.getPosts(), page.getNextCursor()))
+                    .body(page);
+        });
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "view", value = "summary : content 대신 앞부분(excerpt)만 조회"),
+            @ApiImplicitParam(name = "after", value = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @ApiImplicitParam(name = "limit", value = "페이지 크기 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 요약 페이지 조회", notes = "목록 화면용으로 id, 제목, 내용 앞부분만 조회합니다.")
+    @GetMapping(value = "", params = "view=summary")
+    public DeferredResult<ResponseEntity<PostPageRes<PostSummary>>> findSummaryPage(@RequestParam(required = false) String after,
+                                                                                    @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int limit) {
+        return postExecutors.submit(PostExecutors.Pool.LIST, () ->
+                new ResponseEntity<>(postService.요약페이지가져오기(after, limit), HttpStatus.OK));
+    }
+
+    // 기존의 전체 조회는 all=true 를 명시한 경우에만 동작 (테이블 전체를 한번에 내려줌)
+    @ApiOperation(value = "게시글 전체 조회", notes = "게시글을 전체 조회합니다. (all=true 필요, 대용량 주의)")
+    @GetMapping(value = "", params = "all=true")
+    public DeferredResult<ResponseEntity<List<Post>>> findAll() {
+        return postExecutors.submit(PostExecutors.Pool.LIST, () ->
+                new ResponseEntity<>(postService.모두가져오기(), HttpStatus.OK));
+    }
+
+    // 응답을 모두 만든 뒤 보내는 것이 아니라, DB 에서 읽는 즉시 한 줄씩 출력 스트림에 씀
+    @ApiOperation(value = "게시글 전체 내보내기", notes = "모든 게시글을 NDJSON (한 줄에 게시글 하나) 형식으로 스트리밍합니다.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        ObjectWriter writer = objectMapper.writerFor(Post.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET) // 한 줄 쓸 때마다 응답 스트림이 닫히지 않도록
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM); // flush 는 직접 제어 (나머지는 서블릿 버퍼가 찰 때 전송)
+
+        StreamingResponseBody body = out -> {
+            boolean[] first = {true};
+            postService.모두내보내기(post -> {
+                writeLine(writer, out, post, first[0]);
+                first[0] = false;
+            });
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "q", value = "검색어 (제목, 내용)"),
+            @ApiImplicitParam(name = "limit", value = "최대 결과 수 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 검색", notes = "제목과 내용에서 검색어를 찾아 관련도 순으로 조회합니다. (한글은 2글자 단위로 일치)")
+    @GetMapping("/search")
+    public ResponseEntity<List<PostSearchHit>> search(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "" + PostService.DEFAULT_SEARCH_SIZE) int limit) {
+        return new ResponseEntity<>(postService.검색하기(q, limit), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "게시글 검색 색인 통계", notes = "검색 색인의 게시글/단어 수와 대략적인 메모리 사용량을 조회합니다.")
+    @GetMapping("/search/stats")
+    public ResponseEntity<PostSearchStatsRes> searchStats() {
+        return new ResponseEntity<>(postService.검색통계가져오기(), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "게시글 캐시 통계", notes = "단건 조회 캐시의 hit/miss/eviction 통계를 조회합니다.")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<PostCacheStatsRes> cacheStats() {
+        return new ResponseEntity<>(postService.캐시통계가져오기(), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "게시글 통계", notes = "게시글 수, content 크기(UTF-8 byte) 합계/평균과 크기 구간별 게시글 수를 조회합니다. (메모리에 유지하는 집계값)")
+    @GetMapping("/stats")
+    public ResponseEntity<PostStatsRes> stats() {
+        return new ResponseEntity<>(postService.통계가져오기(), HttpStatus.OK);
+    }
+
+    // 목록을 주기적으로 다시 조회(polling)하는 대신 변경 이벤트만 받음 (PostChangeFeed)
+    @ApiOperation(value = "게시글 변경 이벤트 구독", notes = "게시글 생성/수정/삭제 이벤트(created, updated, deleted)를 SSE 로 받습니다. 여러건 등록은 id 목록이 담긴 batch-created 이벤트 하나로 받습니다. Last-Event-ID 로 다시 연결하면 놓친 이벤트부터 이어서 받고, 서버가 다시 시작되었거나 이어받을 수 없으면 reset 이벤트를 받습니다. (목록을 다시 조회해야 함)")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return postService.변경구독하기(lastEventId);
     }
 
+    // 조건부 요청이면 버전만 먼저 확인해서 변경이 없으면 content 를 읽지도, 직렬화하지도 않고 304 로 응답
+    // 조건부 헤더가 없으면 버전을 따로 조회하지 않음 (캐시 miss 시 DB 조회 한번)
     @ApiImplicitParam(name = "id", value = "게시글 아이디")
-    @ApiOperation(value = "게시글 단건 조회", notes = "게시글 id를 이용하여 단건 조회합니다.")
+    @ApiOperation(value = "게시글 단건 조회", notes = "게시글 id를 이용하여 단건 조회합니다. (If-None-Match / If-Modified-Since 가 일치하면 304)")
     @GetMapping("/{id}")
-    public ResponseEntity<Post> findById(@PathVariable Long id) {
-        return new ResponseEntity<>(postService.한건가져오기(id), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<Post>> findById(@PathVariable Long id, WebRequest request) {
+        return postExecutors.submit(PostExecutors.Pool.POINT, () -> {
+            if (ConditionalRequest.isConditional(request)) {
+                PostVersion version = postService.버전가져오기(id);
+                if (ConditionalRequest.isNotModified(request, version)) {
+                    return ConditionalRequest.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version.getVersion(), version.getModifiedAt())
+                            .<Post>build();
+                }
+            }
+
+            Post post = postService.한건가져오기(id);
+            return ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                    .body(post);
+        });
     }
 
+    // JSON 으로 감싸지 않고 content 만 text 로 스트리밍 (Range 로 앞부분만 받을 수 있음)
     @ApiImplicitParam(name = "id", value = "게시글 아이디")
-    @ApiOperation(value = "게시글 단건 수정", notes = "id에 해당하는 게시글을 수정합니다.")
+    @ApiOperation(value = "게시글 내용 조회", notes = "게시글 내용을 text 로 응답합니다. Range (UTF-8 byte 단위) 요청 시 해당 부분만 206 으로 응답합니다.")
+    @GetMapping("/{id}/content")
+    public void findContentById(@PathVariable Long id,
+                                @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                HttpServletResponse response) {
+        postService.내용읽기(id, (length, content) ->
+                RangeRequest.write(range, response, CONTENT_TYPE_TEXT, length, content));
+    }
+
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 단건 수정", notes = "id에 해당하는 게시글을 수정합니다. (If-Match 의 버전이 다르면 412)")
     @PutMapping("/{id}")
-    public ResponseEntity<Post> updateById(@PathVariable Long id, @RequestBody WritePostReq writePostReq) {
-        return new ResponseEntity<>(postService.수정하기(id, writePostReq), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<Post>> updateById(@PathVariable Long id, @RequestBody WritePostReq writePostReq,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ConditionalRequest.expectedVersion(ifMatch); // 형식 오류는 pool 에 넣기 전에 400
+        return postExecutors.submit(PostExecutors.Pool.WRITE, () -> {
+            Post post = postService.수정하기(id, writePostReq, expectedVersion);
+            return ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                    .body(post);
+        });
+    }
+
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 부분 수정", notes = "요청에 포함된 항목(title, content)만 수정합니다. 응답에는 수정 후 게시글 전체가 포함됩니다. (If-Match 의 버전이 다르면 412)")
+    @PatchMapping("/{id}")
+    public DeferredResult<ResponseEntity<Post>> patchById(@PathVariable Long id, @RequestBody PatchPostReq patchPostReq,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ConditionalRequest.expectedVersion(ifMatch);
+        return postExecutors.submit(PostExecutors.Pool.WRITE, () -> {
+            Post post = postService.부분수정하기(id, patchPostReq, expectedVersion);
+            return ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                    .body(post);
+        });
     }
 
     @ApiImplicitParam(name = "id", value = "게시글 아이디")
-    @ApiOperation(value = "게시글 단건 삭제", notes = "id에 해당하는 게시글을 삭제합니다.")
+    @ApiOperation(value = "게시글 단건 삭제", notes = "id에 해당하는 게시글을 삭제합니다. (If-Match 의 버전이 다르면 412)")
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteById(@PathVariable Long id) {
-        return new ResponseEntity<>(postService.삭제하기(id), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<String>> deleteById(@PathVariable Long id,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ConditionalRequest.expectedVersion(ifMatch);
+        return postExecutors.submit(PostExecutors.Pool.WRITE, () ->
+                new ResponseEntity<>(postService.삭제하기(id, expectedVersion), HttpStatus.OK));
+    }
+
+    private void writeLine(ObjectWriter writer, OutputStream out, Post post, boolean flush) {
+        try {
+            writer.writeValue(out, post);
+            out.write('\n');
+            if (flush) {
+                out.flush(); // 첫 행은 바로 클라이언트로 전송 (first byte 지연 최소화)
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
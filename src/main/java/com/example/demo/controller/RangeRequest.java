@@ -0,0 +1,161 @@
+package com.example.demo.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// Range 요청 (byte 단위) 처리 : 범위가 하나면 206, 범위를 벗어나면 416, 없거나 해석할 수 없으면 전체를 200 으로 응답
+// 여러 범위(multipart/byteranges) 요청은 지원하지 않고 전체를 응답함
+final class RangeRequest {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private RangeRequest() {
+    }
+
+    // content 를 처음부터 읽으면서 범위에 해당하는 부분만 응답에 씀 (전체를 메모리에 올리지 않음)
+    static void write(String rangeHeader, HttpServletResponse response, String contentType,
+                      long length, InputStream content) throws IOException {
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        Bounds bounds = bounds(rangeHeader, length);
+        if (bounds == null) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setContentLengthLong(0);
+            return;
+        }
+        if (bounds.partial) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, bounds.contentRange(length));
+        }
+
+        response.setContentLengthLong(bounds.size());
+        skip(content, bounds.start);
+        copy(content, response.getOutputStream(), bounds.size());
+    }
+
+    // reactive 스택 (ReactivePostController) 용 : 같은 규칙으로 응답을 만듦
+    // R2DBC 는 content 컬럼을 한번에 읽어오므로 응답할 범위만 byte 배열로 복사
+    static ResponseEntity<byte[]> toResponse(String rangeHeader, String contentType, long length, InputStream content) {
+        Bounds bounds = bounds(rangeHeader, length);
+        if (bounds == null) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(bounds.partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (bounds.partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, bounds.contentRange(length));
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream((int) bounds.size());
+            skip(content, bounds.start);
+            copy(content, body, bounds.size());
+            return response.body(body.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 응답할 byte 범위 : Range 가 없거나 해석할 수 없으면 전체, 범위를 벗어나면 null (416)
+    private static Bounds bounds(String rangeHeader, long length) {
+        HttpRange range = singleRange(rangeHeader);
+        if (range == null) {
+            return new Bounds(0, length - 1, false);
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+        } catch (IllegalArgumentException e) { // 시작 위치가 길이를 벗어남
+            return null;
+        }
+        if (length == 0 || start >= length || start > end) {
+            return null;
+        }
+        return new Bounds(start, end, true);
+    }
+
+    private static HttpRange singleRange(String rangeHeader) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) { // 형식이 잘못된 Range 는 무시 (RFC 7233)
+            return null;
+        }
+    }
+
+    // 압축된 content 는 건너뛰는 부분도 압축 해제해야 하므로 skip 을 반복
+    private static void skip(InputStream content, long count) throws IOException {
+        byte[] buffer = null;
+        while (count > 0) {
+            long skipped = content.skip(count);
+            if (skipped <= 0) {
+                if (buffer == null) {
+                    buffer = new byte[BUFFER_SIZE];
+                }
+                int read = content.read(buffer, 0, (int) Math.min(buffer.length, count));
+                if (read < 0) {
+                    return;
+                }
+                skipped = read;
+            }
+            count -= skipped;
+        }
+    }
+
+    private static void copy(InputStream content, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(count, 1))];
+        while (count > 0) {
+            int read = content.read(buffer, 0, (int) Math.min(buffer.length, count));
+            if (read < 0) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            count -= read;
+        }
+    }
+
+    private static final class Bounds {
+
+        private final long start;
+
+        private final long end;
+
+        private final boolean partial; // Range 요청에 따른 일부 응답 (206)
+
+        private Bounds(long start, long end, boolean partial) {
+            this.start = start;
+            this.end = end;
+            this.partial = partial;
+        }
+
+        private long size() {
+            return end - start + 1;
+        }
+
+        private String contentRange(long length) {
+            return "bytes " + start + "-" + end + "/" + length;
+        }
+    }
+}
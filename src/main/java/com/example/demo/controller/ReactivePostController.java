@@ -0,0 +1,164 @@
+package com.example.demo.controller;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.service.PostService;
+import com.example.demo.service.ReactivePostService;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// reactive 프로필 (spring.profiles.active=reactive) 의 /post API : PostController 와 같은 요청/응답 형식을 WebFlux + R2DBC 로 처리
+// 검색 (/search, /search/stats), 통계 (/stats, /cache/stats), 변경 이벤트 (/events) 는 servlet 스택 (PostController) 에서만 제공
+// -> 메모리에 유지하는 색인/집계/이벤트 log 가 JPA commit 이벤트로만 갱신되므로 이 프로필에서는 해당 빈을 만들지 않음
+@Profile("reactive")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RequestMapping("/post")
+@RestController
+public class ReactivePostController {
+
+    private final ReactivePostService reactivePostService;
+
+    @ApiOperation(value = "게시글을 등록", notes = "게시글을 등록합니다.")
+    @PostMapping("")
+    public Mono<ResponseEntity<Post>> save(@RequestBody WritePostReq writePostReq) {
+        return reactivePostService.저장하기(writePostReq)
+                .map(post -> new ResponseEntity<>(post, HttpStatus.CREATED));
+    }
+
+    @ApiOperation(value = "게시글 여러건 등록", notes = "게시글 배열을 한 트랜잭션으로 등록하고, 요청 순서대로 생성된 id 를 반환합니다. (최대 " + PostService.MAX_BATCH_SIZE + "건)")
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchWriteRes>> saveAll(@RequestBody List<WritePostReq> writePostReqs) {
+        return reactivePostService.여러건저장하기(writePostReqs)
+                .map(res -> new ResponseEntity<>(res, HttpStatus.CREATED));
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "after", value = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @ApiImplicitParam(name = "limit", value = "페이지 크기 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 페이지 조회", notes = "커서(keyset) 기반으로 게시글을 id 순서대로 조회합니다. (If-None-Match 가 일치하면 304)")
+    @GetMapping("")
+    public Mono<ResponseEntity<PostPageRes<Post>>> findPage(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int limit) {
+        return reactivePostService.페이지가져오기(after, limit)
+                .map(page -> ResponseEntity.ok()
+                        .eTag(ConditionalRequest.eTag(page.getPosts(), page.getNextCursor()))
+                        .body(page));
+    }
+
+    // Accept: application/x-ndjson 이면 같은 페이지를 모으지 않고 DB 에서 읽는 대로 한 줄씩 전송
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "after", value = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @ApiImplicitParam(name = "limit", value = "페이지 크기 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 페이지 스트리밍", notes = "페이지의 게시글을 NDJSON (한 줄에 게시글 하나) 형식으로 스트리밍합니다.")
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Post> streamPage(@RequestParam(required = false) String after,
+                                 @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int limit) {
+        return reactivePostService.페이지스트리밍하기(after, limit);
+    }
+
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "view", value = "summary : content 대신 앞부분(excerpt)만 조회"),
+            @ApiImplicitParam(name = "after", value = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @ApiImplicitParam(name = "limit", value = "페이지 크기 (최대 " + PostService.MAX_PAGE_SIZE + ")")
+    })
+    @ApiOperation(value = "게시글 요약 페이지 조회", notes = "목록 화면용으로 id, 제목, 내용 앞부분만 조회합니다.")
+    @GetMapping(value = "", params = "view=summary")
+    public Mono<ResponseEntity<PostPageRes<PostSummary>>> findSummaryPage(@RequestParam(required = false) String after,
+                                                                          @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int limit) {
+        return reactivePostService.요약페이지가져오기(after, limit)
+                .map(page -> new ResponseEntity<>(page, HttpStatus.OK));
+    }
+
+    @ApiOperation(value = "게시글 전체 조회", notes = "게시글을 전체 조회합니다. (all=true 필요, 대용량 주의)")
+    @GetMapping(value = "", params = "all=true")
+    public Flux<Post> findAll() {
+        return reactivePostService.모두가져오기();
+    }
+
+    @ApiOperation(value = "게시글 전체 내보내기", notes = "모든 게시글을 NDJSON (한 줄에 게시글 하나) 형식으로 스트리밍합니다.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Post> export() {
+        return reactivePostService.모두내보내기();
+    }
+
+    // 조건부 요청이면 버전만 먼저 확인해서 변경이 없으면 content 를 읽지 않고 304 로 응답
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 단건 조회", notes = "게시글 id를 이용하여 단건 조회합니다. (If-None-Match / If-Modified-Since 가 일치하면 304)")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Post>> findById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        Mono<ResponseEntity<Post>> found = reactivePostService.한건가져오기(id)
+                .map(post -> ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                        .body(post));
+        if (!ConditionalRequest.isConditional(ifNoneMatch, ifModifiedSince)) {
+            return found; // 조건부 헤더가 없으면 버전을 따로 조회하지 않음
+        }
+
+        return reactivePostService.버전가져오기(id).flatMap(version -> {
+            if (ConditionalRequest.isNotModified(ifNoneMatch, ifModifiedSince, version)) {
+                return Mono.just(ConditionalRequest.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version.getVersion(), version.getModifiedAt())
+                        .<Post>build());
+            }
+            return found;
+        });
+    }
+
+    // PostController 와 같은 Range 규칙 (단일 범위만 206, 범위를 벗어나면 416)
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 내용 조회", notes = "게시글 내용을 text 로 응답합니다. Range (UTF-8 byte 단위) 요청 시 해당 부분만 206 으로 응답합니다.")
+    @GetMapping("/{id}/content")
+    public Mono<ResponseEntity<byte[]>> findContentById(@PathVariable Long id,
+                                                        @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        return reactivePostService.내용가져오기(id)
+                .map(content -> RangeRequest.toResponse(range, PostController.CONTENT_TYPE_TEXT, content.getLength(), content.getStream()));
+    }
+
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 단건 수정", notes = "id에 해당하는 게시글을 수정합니다. (If-Match 의 버전이 다르면 412)")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Post>> updateById(@PathVariable Long id, @RequestBody WritePostReq writePostReq,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactivePostService.수정하기(id, writePostReq, ConditionalRequest.expectedVersion(ifMatch))
+                .map(post -> ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                        .body(post));
+    }
+
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 부분 수정", notes = "요청에 포함된 항목(title, content)만 수정합니다. 응답에는 수정 후 게시글 전체가 포함됩니다. (If-Match 의 버전이 다르면 412)")
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Post>> patchById(@PathVariable Long id, @RequestBody PatchPostReq patchPostReq,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactivePostService.부분수정하기(id, patchPostReq, ConditionalRequest.expectedVersion(ifMatch))
+                .map(post -> ConditionalRequest.withValidators(ResponseEntity.ok(), post.getVersion(), post.getModifiedAt())
+                        .body(post));
+    }
+
+    @ApiImplicitParam(name = "id", value = "게시글 아이디")
+    @ApiOperation(value = "게시글 단건 삭제", notes = "id에 해당하는 게시글을 삭제합니다. (If-Match 의 버전이 다르면 412)")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteById(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactivePostService.삭제하기(id, ConditionalRequest.expectedVersion(ifMatch))
+                .map(result -> new ResponseEntity<>(result, HttpStatus.OK));
+    }
+}
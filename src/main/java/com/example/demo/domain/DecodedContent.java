@@ -0,0 +1,19 @@
+package com.example.demo.domain;
+
+import lombok.Getter;
+
+import java.io.InputStream;
+
+// 압축 해제하면서 읽는 content 스트림과 원본(UTF-8) byte 길이
+@Getter
+public class DecodedContent {
+
+    private final long length;
+
+    private final InputStream stream;
+
+    public DecodedContent(long length, InputStream stream) {
+        this.length = length;
+        this.stream = stream;
+    }
+}
@@ -1,27 +1,103 @@
 package com.example.demo.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
+import java.time.Instant;
 
 @Data // Getter, Setter 생성
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity // 서버 실행 시, Object Relation Mapping(ORM) 이 됨. (즉, 테이블이 DB에 생성 됨)
+@DynamicUpdate // dirty checking 으로 만드는 UPDATE 문에 변경된 컬럼만 포함 (제목만 바뀌면 content 는 다시 쓰지 않음)
 public class Post {
 
+    public static final int EXCERPT_LENGTH = 200;
+
+    public static final int MAX_TITLE_LENGTH = 255;
+
+    public static final int MAX_CONTENT_LENGTH = 50000;
+
+    private static final int MAX_CONTENT_BYTES = MAX_CONTENT_LENGTH * 3 + 8; // 50000자 (UTF-8 한글 3 byte) + 저장 형식 header
+
     @Id // PK를 해당 변수로 하겠다는 뜻.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // 해당 데이터베이스 번호 증가 전략을 따라가겠다 (H2 DB 전략을 따라감)
+    // IDENTITY 전략은 insert 를 실행해야 id 를 알 수 있어서 Hibernate 가 JDBC batch insert 를 하지 못함
+    // -> 시퀀스를 increment_size 만큼 미리 받아두는 pooled 전략 사용 (시퀀스 호출 1번에 id 50개)
+    // PostIdGenerator : 미리 할당받은 id 가 있으면 그대로 사용 (write-behind 저장)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq_generator")
+    @GenericGenerator(name = "post_seq_generator", strategy = "com.example.demo.domain.PostIdGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "post_seq"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
 
+    @Column(length = MAX_TITLE_LENGTH)
     private String title;
 
-    @Column(length = 50000) // 최대 길이 설정
+    // 최대 50000자 : DB 에는 PostContentConverter 로 (설정에 따라 압축해서) UTF-8 byte 로 저장
+    // 지연 로딩 (bytecode enhancement) : 게시글을 조회해도 content 는 getContent() 를 처음 호출할 때 따로 조회함
+    // -> content 가 필요한 조회는 PostRepository 의 fetch all properties 쿼리를 사용
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude // 로그 출력만으로 content 를 조회하지 않도록
+    @Convert(converter = PostContentConverter.class)
+    @Column(columnDefinition = "varbinary(" + MAX_CONTENT_BYTES + ")")
     private String content;
 
+    // 목록 요약용 content 앞부분 (content 는 압축되어 있어 DB 에서 substring 할 수 없으므로 따로 저장)
+    @JsonIgnore
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    @Version // 수정될 때마다 1씩 증가 - ETag 및 낙관적 락(If-Match)에 사용
+    private Long version;
+
+    private Instant modifiedAt; // Last-Modified 헤더에 사용
+
+    public Post(Long id, String title, String content) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+    }
+
+    // write-behind 저장은 접수 시점의 modifiedAt 을 이미 응답했으므로 그대로 유지
+    @PrePersist
+    protected void onPersist() {
+        if (this.modifiedAt == null) {
+            this.modifiedAt = Instant.now();
+        }
+        this.excerpt = excerptOf(content);
+    }
+
+    @PreUpdate
+    protected void touch() {
+        this.modifiedAt = Instant.now();
+        this.excerpt = excerptOf(content);
+    }
+
+    // 컬럼 크기를 넘는 값은 insert 전에 400 으로 거절 (write-behind 는 commit 전에 응답하므로 접수 시점에 확인해야 함)
+    public static void checkLength(String title, String content) {
+        if (title != null && title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("제목은 최대 " + MAX_TITLE_LENGTH + "자까지 입력할 수 있습니다.");
+        }
+        if (content != null && content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("내용은 최대 " + MAX_CONTENT_LENGTH + "자까지 입력할 수 있습니다.");
+        }
+    }
 
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH);
+    }
 }
@@ -0,0 +1,179 @@
+package com.example.demo.domain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+// Post.content 를 DB 에 저장할 때 압축 (varbinary 컬럼)
+// 저장 형식 : [0][UTF-8 bytes]                       - min-size 보다 작거나, 압축해도 줄지 않는 경우
+//           [1][원본 길이 4 byte][deflate bytes]     - 압축한 경우 (원본 길이로 압축 해제 버퍼를 한번에 할당)
+// 압축 해제는 content 컬럼을 실제로 읽어올 때만 일어남 (요약/버전 조회 같은 projection 에서는 일어나지 않음)
+// 설정을 꺼도 기존에 압축된 값은 그대로 읽을 수 있음
+@Converter
+public class PostContentConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    private static final byte RAW = 0;
+
+    private static final byte DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final boolean enabled;
+
+    private final int minSize; // 이 크기(byte)보다 작은 content 는 압축하지 않음 (압축 이득보다 CPU 비용이 큼)
+
+    // Spring 밖에서 (hibernate 가 직접) 생성하는 경우
+    public PostContentConverter() {
+        this(true, DEFAULT_MIN_SIZE);
+    }
+
+    @Autowired
+    public PostContentConverter(@Value("${post.content.compression.enabled:true}") boolean enabled,
+                                @Value("${post.content.compression.min-size:" + DEFAULT_MIN_SIZE + "}") int minSize) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (enabled && raw.length >= minSize) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return compressed;
+            }
+        }
+
+        byte[] stored = new byte[raw.length + 1];
+        stored[0] = RAW;
+        System.arraycopy(raw, 0, stored, 1, raw.length);
+        return stored;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+
+        switch (stored[0]) {
+            case RAW:
+                return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE:
+                return new String(inflate(stored), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalStateException("알 수 없는 content 저장 형식입니다. (" + stored[0] + ")");
+        }
+    }
+
+    // content 컬럼을 String 으로 만들지 않고 UTF-8 byte 스트림으로 읽음 (압축된 경우 읽는 만큼씩 압축 해제)
+    // storedLength : 컬럼 값의 byte 길이 (압축하지 않은 값의 원본 길이 계산용)
+    public static DecodedContent decode(InputStream stored, long storedLength) throws IOException {
+        if (storedLength <= 0) {
+            return new DecodedContent(0, InputStream.nullInputStream());
+        }
+
+        int format = stored.read();
+        switch (format) {
+            case RAW:
+                return new DecodedContent(storedLength - 1, stored);
+            case DEFLATE:
+                int length = new DataInputStream(stored).readInt();
+                return new DecodedContent(length, new InflaterInputStream(stored));
+            default:
+                throw new IllegalStateException("알 수 없는 content 저장 형식입니다. (" + format + ")");
+        }
+    }
+
+    // String.getBytes 없이 UTF-8 byte 길이만 계산 (content 최대 50000자)
+    public static int utf8Length(String content) {
+        if (content == null) {
+            return 0;
+        }
+
+        int length = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < content.length() && Character.isLowSurrogate(content.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) { // 짝이 없는 surrogate 는 getBytes 처럼 '?' 1 byte
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // BEST_SPEED : 게시글 본문(텍스트)은 빠른 압축으로도 충분히 줄어듦 -> 저장 지연을 우선
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+            out.write(DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(raw.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end(); // native 메모리 해제
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 1, Integer.BYTES).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            byte[] raw = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, offset, length - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += inflated;
+            }
+            if (offset != length) {
+                throw new IllegalStateException("압축된 content 가 손상되었습니다.");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 content 가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.domain;
+
+import com.example.demo.shard.PostShards;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// post_seq 시퀀스로 id 를 만들되, 이미 id 가 할당된 게시글은 그 id 를 그대로 사용
+// (PostWriteBehind 는 응답 전에 이 generator 로 id 를 미리 받아두고, 나중에 묶어서 persist 함)
+// 버전이 null 인 게시글만 persist 대상(새 게시글)으로 취급되므로 기존 게시글의 id 가 바뀌는 일은 없음
+// shard 를 사용하면 shard 마다 post_seq 가 발급하는 id 블록이 다르므로, 미리 받아둔 블록(optimizer)도 shard 별로 따로 둠
+// (shard 0 과 shard 가 정해지지 않은 경우는 기본 optimizer 사용)
+public class PostIdGenerator extends SequenceStyleGenerator {
+
+    private final Map<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (object instanceof Post && ((Post) object).getId() != null) {
+            return ((Post) object).getId();
+        }
+
+        Integer shard = PostShards.current();
+        if (shard == null || shard == 0) {
+            return super.generate(session, object);
+        }
+        return shardOptimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                        StandardOptimizerDescriptor.POOLED.getExternalName(), Long.class, getOptimizer().getIncrementSize(), 1))
+                .generate(getDatabaseStructure().buildCallback(session));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto.post;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchWriteRes {
+
+    private int count;
+
+    private List<Long> ids; // 요청 배열과 같은 순서로 생성된 게시글 id
+
+    @Builder
+    public BatchWriteRes(int count, List<Long> ids) {
+        this.count = count;
+        this.ids = ids;
+    }
+}
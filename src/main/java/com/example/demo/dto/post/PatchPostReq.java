@@ -0,0 +1,28 @@
+package com.example.demo.dto.post;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// 부분 수정 요청 : null 인 항목은 수정하지 않음
+@Getter
+@EqualsAndHashCode
+public class PatchPostReq {
+
+    @ApiModelProperty(example = "게시글 제목")
+    private String title;
+
+    @ApiModelProperty(example = "게시글 내용")
+    private String content;
+
+    @Builder
+    public PatchPostReq(String title, String content) {
+        this.title = title;
+        this.content = content;
+    }
+
+    public boolean isEmpty() {
+        return title == null && content == null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.dto.post;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class PostCacheStatsRes {
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long evictionCount;
+
+    private long evictionWeight;
+
+    private long estimatedSize; // 캐시에 들어있는 게시글 수 (근사값)
+
+    private long weightedSize; // 캐시에 들어있는 게시글의 weight 합계
+
+    private long loadCount; // 실제로 DB 를 조회한 횟수
+
+    private long coalescedCount; // 진행 중인 조회에 합쳐져서 DB 를 조회하지 않은 횟수
+
+    private long coalesceTimeoutCount; // 진행 중인 조회를 기다리다 시간 초과된 횟수
+
+    @Builder
+    public PostCacheStatsRes(long hitCount, long missCount, double hitRate, long evictionCount, long evictionWeight,
+                             long estimatedSize, long weightedSize, long loadCount, long coalescedCount,
+                             long coalesceTimeoutCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.estimatedSize = estimatedSize;
+        this.weightedSize = weightedSize;
+        this.loadCount = loadCount;
+        this.coalescedCount = coalescedCount;
+        this.coalesceTimeoutCount = coalesceTimeoutCount;
+    }
+}
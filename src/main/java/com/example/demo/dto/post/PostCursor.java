@@ -0,0 +1,35 @@
+package com.example.demo.dto.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// keyset pagination 커서 : 마지막으로 내려준 게시글 id 를 감싼 불투명(opaque) 문자열
+// 클라이언트는 내용을 해석하지 않고 nextCursor 를 다음 요청의 after 로 그대로 넘긴다.
+public final class PostCursor {
+
+    private static final String PREFIX = "post:";
+
+    private PostCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 처음부터 (id > 0) 조회
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) { // Base64 디코딩 실패, NumberFormatException 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.dto.post;
+
+import com.example.demo.domain.Post;
+import com.example.demo.event.PostChangedEvent;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// GET /post/events 로 보내는 변경 이벤트의 data
+// content 전체 대신 excerpt 만 포함 (필요하면 GET /post/{id} 로 조회) - 최근 이벤트를 메모리에 보관하므로 크기를 작게 유지
+// 삭제는 id 만 들어있음
+@Getter
+public class PostEventRes {
+
+    private PostChangedEvent.Type type;
+
+    private Long id;
+
+    private String title;
+
+    private String excerpt;
+
+    private Long version;
+
+    private Instant modifiedAt;
+
+    @Builder
+    public PostEventRes(PostChangedEvent.Type type, Long id, String title, String excerpt, Long version, Instant modifiedAt) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public static PostEventRes of(PostChangedEvent event) {
+        Post post = event.getPost();
+        if (post == null) {
+            return PostEventRes.builder()
+                    .type(event.getType())
+                    .id(event.getId()).build();
+        }
+
+        return PostEventRes.builder()
+                .type(event.getType())
+                .id(event.getId())
+                .title(post.getTitle())
+                .excerpt(Post.excerptOf(post.getContent()))
+                .version(post.getVersion())
+                .modifiedAt(post.getModifiedAt()).build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto.post;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostPageRes<T> {
+
+    private List<T> posts;
+
+    private String nextCursor; // 다음 페이지 요청 시 after 로 그대로 넘겨줌 (마지막 페이지면 null)
+
+    @Builder
+    public PostPageRes(List<T> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto.post;
+
+import lombok.Getter;
+
+@Getter
+public class PostSearchHit {
+
+    private Long id;
+
+    private String title;
+
+    private double score; // 관련도 (BM25, 높을수록 관련 있음)
+
+    public PostSearchHit(Long id, String title, double score) {
+        this.id = id;
+        this.title = title;
+        this.score = score;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto.post;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class PostSearchStatsRes {
+
+    private boolean ready; // 서버 시작 후 전체 색인이 끝났는지
+
+    private int documentCount;
+
+    private int termCount;
+
+    private long postingCount;
+
+    private long estimatedBytes; // 색인이 차지하는 대략적인 heap 크기
+
+    @Builder
+    public PostSearchStatsRes(boolean ready, int documentCount, int termCount, long postingCount, long estimatedBytes) {
+        this.ready = ready;
+        this.documentCount = documentCount;
+        this.termCount = termCount;
+        this.postingCount = postingCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+}
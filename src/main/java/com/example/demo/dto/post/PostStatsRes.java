@@ -0,0 +1,42 @@
+package com.example.demo.dto.post;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostStatsRes {
+
+    private boolean ready; // 서버 시작 후 DB 전체로 집계가 끝났는지
+
+    private long count;
+
+    private long totalContentBytes; // content 의 UTF-8 byte 길이 합 (압축 전 크기)
+
+    private double averageContentBytes;
+
+    private List<Bucket> histogram; // content 크기 구간별 게시글 수 (작은 구간부터)
+
+    @Builder
+    public PostStatsRes(boolean ready, long count, long totalContentBytes, double averageContentBytes, List<Bucket> histogram) {
+        this.ready = ready;
+        this.count = count;
+        this.totalContentBytes = totalContentBytes;
+        this.averageContentBytes = averageContentBytes;
+        this.histogram = histogram;
+    }
+
+    @Getter
+    public static class Bucket {
+
+        private Long maxBytes; // 구간의 최대 크기 (포함), 마지막 구간은 null (상한 없음)
+
+        private long count;
+
+        public Bucket(Long maxBytes, long count) {
+            this.maxBytes = maxBytes;
+            this.count = count;
+        }
+    }
+}
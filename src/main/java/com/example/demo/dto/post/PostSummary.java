@@ -0,0 +1,24 @@
+package com.example.demo.dto.post;
+
+import com.example.demo.domain.Post;
+import lombok.Getter;
+
+// 목록 화면용 요약 (content 전체 대신 저장 시 잘라둔 excerpt 만 가져옴)
+@Getter
+public class PostSummary {
+
+    public static final int EXCERPT_LENGTH = Post.EXCERPT_LENGTH;
+
+    private Long id;
+
+    private String title;
+
+    private String excerpt;
+
+    // JPQL 생성자 표현식(select new ...)에서 사용
+    public PostSummary(Long id, String title, String excerpt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+    }
+}
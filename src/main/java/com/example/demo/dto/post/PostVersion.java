@@ -0,0 +1,25 @@
+package com.example.demo.dto.post;
+
+import com.example.demo.domain.Post;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// 게시글 본문 없이 버전 정보만 조회 (조건부 GET 판단용)
+@Getter
+public class PostVersion {
+
+    private Long version;
+
+    private Instant modifiedAt;
+
+    // JPQL 생성자 표현식(select new ...)에서 사용
+    public PostVersion(Long version, Instant modifiedAt) {
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+    }
+
+    public static PostVersion of(Post post) {
+        return new PostVersion(post.getVersion(), post.getModifiedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto.post;
+
+import com.example.demo.event.PostsCreatedEvent;
+import lombok.Getter;
+
+import java.util.List;
+
+// GET /post/events 의 batch-created 이벤트 data
+// 여러건 등록(POST /post/batch, write-behind) 한번을 이벤트 하나로 보냄 - 게시글 내용이 필요하면 GET /post/{id} 로 조회
+@Getter
+public class PostsCreatedEventRes {
+
+    private final List<Long> ids;
+
+    public PostsCreatedEventRes(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public static PostsCreatedEventRes of(PostsCreatedEvent event) {
+        return new PostsCreatedEventRes(event.getIds());
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.post.PostEventRes;
+import com.example.demo.dto.post.PostsCreatedEventRes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 게시글 생성/수정/삭제 이벤트(commit 이후)를 SSE 구독자에게 전달 (GET /post/events)
+// - 이벤트 id 는 "<epoch>-<순번>" : epoch 는 서버 시작 시각, 순번은 1 부터 증가. 최근 log-size 개를 메모리에 보관
+//   -> Last-Event-ID 로 다시 연결하면 그 다음 이벤트부터 이어서 보냄
+//   -> epoch 가 다르거나(서버가 다시 시작됨) 이미 보관 범위를 벗어난 경우에는 reset 이벤트를 보냄 (클라이언트가 목록을 다시 조회)
+// - 여러건 등록은 게시글 수와 관계없이 batch-created 이벤트 하나로 보냄 (전송 대기열을 한번에 채우지 않음)
+// - 구독자마다 크기가 buffer-size 인 전송 대기열 : 가득 차면(= 따라오지 못하는 구독자) 연결을 끊음
+//   -> 이벤트를 발행하는 요청 스레드는 전송을 기다리지 않음, 끊긴 클라이언트는 Last-Event-ID 로 다시 연결
+// - 실제 전송은 sender pool 에서 구독자별로 한 스레드씩만 실행 (구독자 안에서는 순서 유지)
+//   네트워크에 쓰는 동안 막혀 있는 구독자가 sender 스레드를 점유하므로 sender-threads 는 동시에 느린 구독자 수보다 크게 설정
+// - heartbeat 주기마다 comment 를 보내서 프록시가 연결을 끊지 않게 하고, 닫힌 연결을 정리함
+// metrics : post.events.subscribers, post.events.published, post.events.dropped
+@Profile("!reactive") // JPA commit 이벤트 + servlet SseEmitter 기반 (reactive 프로필에는 /post/events 가 없음)
+@Component
+public class PostChangeFeed implements MeterBinder {
+
+    public static final String RESET_EVENT = "reset";
+
+    public static final String BATCH_CREATED_EVENT = "batch-created";
+
+    private static final Entry HEARTBEAT = new Entry(0, null, null);
+
+    private final ObjectMapper objectMapper;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36); // 서버가 다시 시작되면 바뀜
+
+    private final int bufferSize;
+
+    private final int logSize;
+
+    private final ExecutorService senders;
+
+    private final ScheduledExecutorService heartbeats;
+
+    private final ReentrantLock lock = new ReentrantLock(); // 이벤트 id 발급, log, 구독 시작 시점을 맞추기 위한 lock
+
+    private final ArrayDeque<Entry> log = new ArrayDeque<>();
+
+    private long lastEventId = 0;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    public PostChangeFeed(ObjectMapper objectMapper,
+                          @Value("${post.events.buffer-size:256}") int bufferSize,
+                          @Value("${post.events.log-size:1000}") int logSize,
+                          @Value("${post.events.sender-threads:4}") int senderThreads,
+                          @Value("${post.events.heartbeat:15s}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.logSize = Math.max(logSize, 1);
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("post-events-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("post-events-heartbeat-"));
+        long period = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // lastEventId : Last-Event-ID 헤더 값 (없으면 지금부터 발생하는 이벤트만, 이 서버가 발급한 id 가 아니면 reset 부터 보냄)
+    // 타임아웃은 spring.mvc.async.request-timeout (끊기면 EventSource 가 Last-Event-ID 로 다시 연결)
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        long resumeFrom = parseEventId(lastEventId);
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                long oldest = log.isEmpty() ? this.lastEventId + 1 : log.peekFirst().id;
+                if (resumeFrom < 0 || resumeFrom > this.lastEventId || resumeFrom < oldest - 1) {
+                    subscriber.replay(new Entry(this.lastEventId, RESET_EVENT, "{}"));
+                } else {
+                    for (Entry entry : log) {
+                        if (entry.id > resumeFrom) {
+                            subscriber.replay(entry);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        publish(event.getType().name().toLowerCase(), toJson(PostEventRes.of(event))); // 구독자 수와 관계없이 한번만 직렬화
+    }
+
+    @TransactionalEventListener
+    public void onPostsCreated(PostsCreatedEvent event) {
+        publish(BATCH_CREATED_EVENT, toJson(PostsCreatedEventRes.of(event)));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("post.events.subscribers", subscribers, Set::size)
+                .description("GET /post/events 구독자 수")
+                .register(registry);
+        FunctionCounter.builder("post.events.published", published, LongAdder::sum)
+                .description("발행한 게시글 변경 이벤트 수")
+                .register(registry);
+        FunctionCounter.builder("post.events.dropped", dropped, LongAdder::sum)
+                .description("전송 대기열이 가득 차서 연결을 끊은 구독자 수")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(this::drop);
+        senders.shutdown();
+    }
+
+    private void publish(String name, String data) {
+        List<Subscriber> slow = new ArrayList<>();
+        lock.lock();
+        try {
+            Entry entry = new Entry(++lastEventId, name, data);
+            log.addLast(entry);
+            if (log.size() > logSize) {
+                log.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(entry)) {
+                    slow.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        published.increment();
+
+        slow.forEach(this::drop);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isEmpty() && subscriber.offer(HEARTBEAT)) { // 보낼 이벤트가 남아 있으면 heartbeat 불필요
+                subscriber.schedule();
+            }
+        }
+    }
+
+    // 구독 목록에서 빼고, 전송 중인 스레드가 끝나면 연결을 닫음 (emitter 는 구독자 자신의 전송 작업에서만 사용)
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.increment();
+        }
+        subscriber.closed = true;
+        subscriber.schedule();
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 이 서버가 발급한 "<epoch>-<순번>" 이면 순번, 아니면 (다른 epoch, 형식 오류) -1
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null) {
+            return -1;
+        }
+        String id = lastEventId.trim();
+        if (!id.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Entry {
+
+        private final long id;
+
+        private final String name;
+
+        private final String data; // JSON
+
+        private Entry(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean closed = false;
+
+        private volatile boolean completed = false; // closed 이후 emitter 를 닫았는지
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // 전송 대기열이 가득 차면 false
+        private synchronized boolean offer(Entry entry) {
+            if (queue.size() >= bufferSize) {
+                return false;
+            }
+            queue.addLast(entry);
+            return true;
+        }
+
+        // 다시 연결할 때 놓친 이벤트 (log 크기로 제한되므로 buffer-size 와 관계없이 넣음)
+        private synchronized void replay(Entry entry) {
+            queue.addLast(entry);
+        }
+
+        private synchronized Entry poll() {
+            return queue.pollFirst();
+        }
+
+        private synchronized boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        private boolean hasWork() {
+            return closed ? !completed : !isEmpty();
+        }
+
+        // 이미 전송 작업이 예약되어 있으면 그 작업이 대기열을 비움
+        private void schedule() {
+            if (hasWork() && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RuntimeException e) { // 종료 중
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Entry entry;
+                while (!closed && (entry = poll()) != null) {
+                    send(entry);
+                }
+                if (closed && !completed) {
+                    completed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) { // 클라이언트가 연결을 끊었거나 이미 완료된 emitter
+                closed = true;
+                completed = true;
+                subscribers.remove(this);
+            } finally {
+                scheduled.set(false);
+            }
+            if (hasWork()) { // 예약이 풀리기 직전에 들어온 이벤트/종료 요청
+                schedule();
+            }
+        }
+
+        private void send(Entry entry) throws IOException {
+            if (entry == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(eventId(entry.id))
+                    .name(entry.name)
+                    .data(entry.data, MediaType.APPLICATION_JSON));
+        }
+    }
+}
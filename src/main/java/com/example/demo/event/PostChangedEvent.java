@@ -0,0 +1,41 @@
+package com.example.demo.event;
+
+import com.example.demo.domain.Post;
+import lombok.Getter;
+
+// PostService 에서 게시글이 생성/수정/삭제될 때 발행하는 이벤트
+// 구독하는 쪽은 @TransactionalEventListener 로 받아서 commit 이후에만 반영한다. (rollback 된 변경은 전달되지 않음)
+@Getter
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final Long id;
+
+    private final Post post; // 변경 후 게시글 (DELETED 는 null)
+
+    private final int previousContentBytes; // 변경 전 content 의 UTF-8 byte 길이 (CREATED 는 0)
+
+    private PostChangedEvent(Type type, Long id, Post post, int previousContentBytes) {
+        this.type = type;
+        this.id = id;
+        this.post = post;
+        this.previousContentBytes = previousContentBytes;
+    }
+
+    public static PostChangedEvent created(Post post) {
+        return new PostChangedEvent(Type.CREATED, post.getId(), post, 0);
+    }
+
+    public static PostChangedEvent updated(Post post, int previousContentBytes) {
+        return new PostChangedEvent(Type.UPDATED, post.getId(), post, previousContentBytes);
+    }
+
+    public static PostChangedEvent deleted(Long id, int previousContentBytes) {
+        return new PostChangedEvent(Type.DELETED, id, null, previousContentBytes);
+    }
+}
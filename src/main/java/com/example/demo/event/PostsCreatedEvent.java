@@ -0,0 +1,30 @@
+package com.example.demo.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 여러건을 한 트랜잭션에서 생성했을 때 발행하는 이벤트 (게시글마다 PostChangedEvent 를 발행하지 않음)
+// 게시글 엔티티 대신 id, 제목, content 와 content 크기만 들고 있음
+// (제목/content 는 요청이 이미 들고 있는 문자열을 그대로 참조 - commit 이후 구독자가 DB 에서 다시 읽지 않도록)
+@Getter
+public class PostsCreatedEvent {
+
+    private final List<Long> ids;
+
+    private final List<String> titles; // ids 와 같은 순서
+
+    private final List<String> contents; // ids 와 같은 순서
+
+    private final int[] contentBytes; // ids 와 같은 순서의 content UTF-8 byte 길이
+
+    public PostsCreatedEvent(List<Long> ids, List<String> titles, List<String> contents, int[] contentBytes) {
+        if (ids.size() != titles.size() || ids.size() != contents.size() || ids.size() != contentBytes.length) {
+            throw new IllegalArgumentException("ids, titles, contents, contentBytes 의 개수가 다릅니다.");
+        }
+        this.ids = ids;
+        this.titles = titles;
+        this.contents = contents;
+        this.contentBytes = contentBytes;
+    }
+}
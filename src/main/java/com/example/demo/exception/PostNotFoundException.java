@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+import java.util.NoSuchElementException;
+
+// 없는 게시글 id 요청 시 던지는 예외 - GlobalExceptionHandler 에서 404 로 응답
+// 크롤러 등이 없는 id 를 대량으로 요청하는 경우가 많아서, 미리 만들어 둔 인스턴스 하나를 재사용하고 stack trace 를 만들지 않음
+public class PostNotFoundException extends NoSuchElementException {
+
+    public static final PostNotFoundException INSTANCE = new PostNotFoundException();
+
+    private PostNotFoundException() {
+        super("id를 확인해주세요!!");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this; // stack trace 생성 비용 제거 (어디서 던졌는지는 404 응답에 필요 없음)
+    }
+}
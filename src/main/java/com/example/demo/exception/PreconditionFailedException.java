@@ -0,0 +1,9 @@
+package com.example.demo.exception;
+
+// If-Match 로 보낸 버전과 현재 게시글 버전이 다를 때 - GlobalExceptionHandler 에서 412 로 응답
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException() {
+        super("게시글이 다른 요청에 의해 변경되었습니다. 다시 조회 후 시도해주세요.");
+    }
+}
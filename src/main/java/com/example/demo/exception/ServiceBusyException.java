@@ -0,0 +1,9 @@
+package com.example.demo.exception;
+
+// 서버가 일시적으로 요청을 처리할 수 없을 때 (대기 시간 초과 등) - GlobalExceptionHandler 에서 503 으로 응답
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.metrics;
+
+import com.example.demo.async.PostTask;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// PostController 의 endpoint 별, PostService 의 메서드 별 응답 시간 (p50/p95/p99 + histogram) 과 요청당 SQL 문장 수
+// (PostService 메서드 실행 중에는 ServiceMethodContext 에 메서드 이름을 남김 - SQL trace 용)
+// Timer 는 메서드마다 처음 호출될 때 한번만 만들어 두고 재사용 -> 요청마다 tag 문자열/객체를 만들지 않음
+// (/post/export 같은 스트리밍 응답은 controller 메서드가 반환될 때까지만 측정됨)
+@RequiredArgsConstructor
+@Aspect
+@Component
+public class PostMetricsAspect {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Method, Timer> endpointTimers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Method, DistributionSummary> endpointStatements = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+
+    @Around("within(com.example.demo.controller.PostController)")
+    public Object timeEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = endpointTimers.get(method);
+        if (timer == null) {
+            timer = endpointTimers.computeIfAbsent(method, this::endpointTimer);
+        }
+        DistributionSummary statements = endpointStatements.get(method);
+        if (statements == null) {
+            statements = endpointStatements.computeIfAbsent(method, this::endpointStatements);
+        }
+
+        int statementsBefore = StatementCounter.count();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            statements.record(StatementCounter.count() - statementsBefore);
+            throw e;
+        }
+
+        if (result instanceof PostTask) {
+            // PostExecutors 로 실행하는 endpoint : pool 대기 시간을 포함해서 작업이 끝날 때 기록, SQL 문장 수는 작업을 실행한 스레드에서 센 값
+            PostTask<?> task = (PostTask<?>) result;
+            Timer endpointTimer = timer;
+            DistributionSummary endpointStatements = statements;
+            task.completion().whenComplete((value, error) -> {
+                endpointTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                endpointStatements.record(task.getStatements());
+            });
+        } else {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            statements.record(StatementCounter.count() - statementsBefore);
+        }
+        return result;
+    }
+
+    @Around("within(com.example.demo.service.PostService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = serviceTimers.get(method);
+        if (timer == null) {
+            timer = serviceTimers.computeIfAbsent(method, this::serviceTimer);
+        }
+
+        String previous = ServiceMethodContext.enter(method.getName());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            ServiceMethodContext.restore(previous);
+        }
+    }
+
+    private Timer endpointTimer(Method method) {
+        return Timer.builder("post.http.requests")
+                .description("PostController endpoint 응답 시간")
+                .tag("method", httpMethod(method))
+                .tag("uri", uri(method))
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary endpointStatements(Method method) {
+        return DistributionSummary.builder("post.http.statements")
+                .description("요청 한번에 실행된 SQL 문장 수")
+                .tag("method", httpMethod(method))
+                .tag("uri", uri(method))
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private Timer serviceTimer(Method method) {
+        return Timer.builder("post.service")
+                .description("PostService 메서드 실행 시간")
+                .tag("method", method.getName())
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // @GetMapping 등은 @RequestMapping 의 메타 어노테이션이므로 합쳐서 읽음
+    private static String httpMethod(Method method) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        return mapping == null || mapping.method().length == 0 ? "ANY" : mapping.method()[0].name();
+    }
+
+    private static String uri(Method method) {
+        RequestMapping type = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequestMapping.class);
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        String prefix = type == null || type.path().length == 0 ? "" : type.path()[0];
+        String path = mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+        String params = mapping == null || mapping.params().length == 0 ? "" : "?" + String.join("&", mapping.params());
+        return prefix + path + params; // 같은 경로를 params 로 구분하는 endpoint (view=summary, all=true) 도 따로 집계
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.metrics;
+
+// 현재 스레드에서 실행 중인 PostService 메서드 이름 (SQL 로그에 어떤 서비스 메서드에서 실행된 쿼리인지 남기기 위함)
+// PostMetricsAspect 가 PostService 메서드 호출 전후로 설정/복원
+public final class ServiceMethodContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ServiceMethodContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // 이전 값을 반환 -> 호출한 쪽에서 restore 로 되돌림 (서비스 메서드 안에서 다른 서비스 메서드를 호출하는 경우)
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.demo.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// show-sql 대신 사용하는 SQL trace (post.sql-trace.enabled=true 일 때 SqlTraceConfig 가 DataSource 에 등록)
+// - slow-threshold 이상 걸린 문장은 모두, 나머지는 sample-rate 비율만 기록
+// - 요청 스레드는 기록할 내용을 bounded queue 에 넣기만 하고 (가득 차면 버리고 개수만 셈), 로그 출력은 별도 스레드에서 함
+// - 바인딩 값은 남기지 않고 타입과 길이(shape)만 남김 : [Long, String(12), byte[](2048)]
+public class SqlTraceLogger implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("sql-trace");
+
+    private static final int DRAIN_BATCH = 64;
+
+    private final long slowThresholdMillis;
+
+    private final double sampleRate;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public SqlTraceLogger(Duration slowThreshold, double sampleRate, int bufferSize) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        boolean slow = elapsed >= slowThresholdMillis;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return; // 대부분의 문장은 여기서 끝 (할당 없음)
+        }
+
+        // 바인딩 값은 queue 에 넣지 않음 (큰 content 가 쌓이지 않도록 요청 스레드에서 shape 로 바꿈)
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        String parameters = "";
+        int batchSize = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            batchSize += parametersList.size();
+            if (parameters.isEmpty() && !parametersList.isEmpty()) {
+                parameters = shape(parametersList.get(0));
+            }
+        }
+
+        Entry entry = new Entry(slow, elapsed, ServiceMethodContext.current(), execInfo.isSuccess(),
+                batchSize, parameters, String.join("; ", queries));
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "sql-trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    // 기록 대기 중인 문장 수
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (Entry entry : batch) {
+                    log.info("{}", entry);
+                }
+                batch.clear();
+
+                long lost = dropped.sumThenReset();
+                if (lost > 0) {
+                    log.warn("sql trace buffer 가 가득 차서 {} 건을 기록하지 못했습니다.", lost);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static String shape(List<ParameterSetOperation> operations) {
+        StringBuilder shape = new StringBuilder("[");
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs(); // [index, value, ...]
+            Object value = args.length > 1 ? args[1] : null;
+            if (shape.length() > 1) {
+                shape.append(", ");
+            }
+            if (value == null) {
+                shape.append("null");
+            } else if (value instanceof String) {
+                shape.append("String(").append(((String) value).length()).append(')');
+            } else if (value instanceof byte[]) {
+                shape.append("byte[](").append(((byte[]) value).length).append(')');
+            } else {
+                shape.append(value.getClass().getSimpleName());
+            }
+        }
+        return shape.append(']').toString();
+    }
+
+    private static final class Entry {
+
+        private final boolean slow;
+
+        private final long elapsedMillis;
+
+        private final String serviceMethod;
+
+        private final boolean success;
+
+        private final int batchSize;
+
+        private final String parameters;
+
+        private final String query;
+
+        private Entry(boolean slow, long elapsedMillis, String serviceMethod, boolean success,
+                      int batchSize, String parameters, String query) {
+            this.slow = slow;
+            this.elapsedMillis = elapsedMillis;
+            this.serviceMethod = serviceMethod;
+            this.success = success;
+            this.batchSize = batchSize;
+            this.parameters = parameters;
+            this.query = query;
+        }
+
+        @Override
+        public String toString() {
+            return (slow ? "[slow] " : "[sample] ") + elapsedMillis + "ms"
+                    + " service=" + (serviceMethod == null ? "-" : "PostService." + serviceMethod)
+                    + (success ? "" : " failed")
+                    + (batchSize > 1 ? " batch=" + batchSize : "")
+                    + " params=" + parameters
+                    + " sql=" + query;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// hibernate 가 SQL 을 준비(prepare)할 때마다 현재 스레드의 카운터를 1 증가
+// (hibernate.session_factory.statement_inspector 로 등록 - hibernate 가 직접 생성하므로 상태는 static)
+// 요청별 문장 수는 시작/종료 시점의 count() 차이로 계산 (초기화 없이 계속 증가만 함)
+// JDBC batch 는 묶음 단위로 한번, PostRepositoryImpl.readContent 처럼 hibernate 를 거치지 않는 JDBC 는 세지 않음
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.replication;
+
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// primary 에서 실행된 쓰기 문장 하나 (SQL + 바인딩 값) : replica 에서 같은 순서로 다시 실행
+// parameters 가 비어 있으면 Statement (DDL 등), 하나면 PreparedStatement 한번, 여러개면 JDBC batch 로 실행
+public final class CapturedStatement {
+
+    private final String sql;
+
+    private final List<List<ParameterSetOperation>> parameters;
+
+    public CapturedStatement(String sql, List<List<ParameterSetOperation>> parameters) {
+        this.sql = sql;
+        // 실행이 끝난 뒤 datasource-proxy 가 바인딩 목록을 재사용할 수 있으므로 복사해서 보관
+        this.parameters = parameters.stream()
+                .map(operations -> Collections.unmodifiableList(new ArrayList<>(operations)))
+                .collect(Collectors.toList());
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    void execute(Connection connection) throws SQLException {
+        if (parameters.isEmpty()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (parameters.size() == 1) {
+                bind(statement, parameters.get(0));
+                statement.execute();
+                return;
+            }
+            for (List<ParameterSetOperation> operations : parameters) {
+                bind(statement, operations);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    // primary 에서 호출된 setXxx(index, value) 를 그대로 다시 호출
+    private static void bind(PreparedStatement statement, List<ParameterSetOperation> operations) throws SQLException {
+        for (ParameterSetOperation operation : operations) {
+            try {
+                operation.getMethod().invoke(statement, operation.getArgs());
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new SQLException("바인딩 값을 설정할 수 없습니다 : " + operation.getMethod().getName(), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("바인딩 값을 설정할 수 없습니다 : " + operation.getMethod().getName(), e);
+            }
+        }
+    }
+}
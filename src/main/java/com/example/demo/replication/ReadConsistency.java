@@ -0,0 +1,44 @@
+package com.example.demo.replication;
+
+// read-your-writes : 현재 요청이 읽어야 하는 최소 복제 위치 (요청 스레드 기준)
+// 쓰기 응답으로 받은 X-Replication-Position 을 다음 읽기 요청에 넣으면 ReadConsistencyFilter 가 설정하고,
+// 라우팅 시 그 위치까지 적용한 replica 가 없으면 primary 에서 읽음
+// PostExecutors 처럼 다른 스레드에서 실행하는 작업에는 wrap 으로 전달
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Replication-Position";
+
+    private static final ThreadLocal<Long> REQUIRED_POSITION = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static long requiredPosition() {
+        Long position = REQUIRED_POSITION.get();
+        return position == null ? 0 : position;
+    }
+
+    public static void require(long position) {
+        REQUIRED_POSITION.set(position);
+    }
+
+    public static void clear() {
+        REQUIRED_POSITION.remove();
+    }
+
+    // 현재 스레드의 요구 위치를 task 를 실행하는 스레드에도 설정
+    public static Runnable wrap(Runnable task) {
+        long position = requiredPosition();
+        if (position == 0) {
+            return task;
+        }
+        return () -> {
+            require(position);
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
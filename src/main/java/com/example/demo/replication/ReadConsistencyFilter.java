@@ -0,0 +1,34 @@
+package com.example.demo.replication;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청의 X-Replication-Position 헤더를 ReadConsistency 에 설정 (잘못된 값은 무시)
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(ReadConsistency.HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            ReadConsistency.require(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            // 위치를 모르면 요구하지 않음 (replica 지연 허용 범위 안에서 읽음)
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.replication;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// 커넥션을 가져올 때 트랜잭션의 readOnly 여부로 연결할 DataSource 를 정함
+// - readOnly 트랜잭션 : ReplicationLog 가 고른 replica (없으면 primary)
+// - 그 외 (쓰기 트랜잭션, 트랜잭션 밖) : primary
+// readOnly 여부는 트랜잭션이 시작된 뒤에 설정되므로 LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 실행 시점에 커넥션을 가져와야 함
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicationLog replicationLog;
+
+    ReadWriteRoutingDataSource(DataSource primary, ReplicationLog replicationLog) {
+        this.replicationLog = replicationLog;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicationLog.getReplicas().forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Replica replica = replicationLog.select(ReadConsistency.requiredPosition());
+        return replica == null ? PRIMARY : replica.getName();
+    }
+}
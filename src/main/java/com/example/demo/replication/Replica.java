@@ -0,0 +1,142 @@
+package com.example.demo.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 읽기 전용 복제본 하나 : primary 에서 commit 된 쓰기를 전용 스레드가 commit 순서대로 한 트랜잭션씩 다시 실행
+// - delay : 로컬 테스트용 복제 지연 (commit 후 이 시간이 지나야 적용)
+// - lag   : 아직 적용하지 못한 가장 오래된 commit 이후 지난 시간 (모두 적용했으면 0)
+// 적용에 실패하면 primary 와 데이터가 달라졌을 수 있으므로 이후로는 읽기에 사용하지 않음 (다시 만들어야 함)
+public class Replica implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(Replica.class);
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final long delayNanos;
+
+    private final BlockingQueue<ReplicationLog.Entry> queue = new LinkedBlockingQueue<>();
+
+    private final Thread applier;
+
+    private volatile ReplicationLog.Entry applying; // 적용 중인 commit (lag 계산용)
+
+    private volatile long appliedPosition;
+
+    private volatile boolean failed;
+
+    private volatile boolean running = true;
+
+    public Replica(String name, DataSource dataSource, Duration delay) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.delayNanos = delay.toNanos();
+        this.applier = new Thread(this::applyLoop, "replication-" + name);
+        this.applier.setDaemon(true);
+        this.applier.start();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public long getAppliedPosition() {
+        return appliedPosition;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public long lagNanos() {
+        ReplicationLog.Entry oldest = applying;
+        if (oldest == null) {
+            oldest = queue.peek();
+        }
+        return oldest == null ? 0 : System.nanoTime() - oldest.getCommittedAt();
+    }
+
+    // requiredPosition 까지 적용했고 지연이 maxLag 이하일 때만 읽기에 사용
+    public boolean isReadable(long requiredPosition, long maxLagNanos) {
+        return !failed && appliedPosition >= requiredPosition && lagNanos() <= maxLagNanos;
+    }
+
+    void enqueue(ReplicationLog.Entry entry) {
+        if (!failed) {
+            queue.add(entry);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        applier.interrupt();
+        try {
+            applier.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    private void applyLoop() {
+        while (running) {
+            try {
+                ReplicationLog.Entry entry = queue.take();
+                applying = entry;
+                waitForDelay(entry);
+                apply(entry);
+                appliedPosition = entry.getPosition();
+            } catch (InterruptedException e) {
+                return;
+            } catch (SQLException | RuntimeException e) {
+                failed = true;
+                queue.clear();
+                log.error("replica {} 에 복제를 적용하지 못해 읽기 대상에서 제외합니다.", name, e);
+                return;
+            } finally {
+                applying = null;
+            }
+        }
+    }
+
+    private void waitForDelay(ReplicationLog.Entry entry) throws InterruptedException {
+        long remaining = entry.getCommittedAt() + delayNanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private void apply(ReplicationLog.Entry entry) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (CapturedStatement statement : entry.getStatements()) {
+                    statement.execute(connection);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+}
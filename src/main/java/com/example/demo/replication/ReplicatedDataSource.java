@@ -0,0 +1,37 @@
+package com.example.demo.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+// 애플리케이션이 사용하는 DataSource (post.datasource.routing.enabled=true 일 때)
+// primary 의 쓰기를 ReplicationCapture 로 모아 replica 에 복제하고, 커넥션은 ReadWriteRoutingDataSource 가 고른 곳에서 가져옴
+// LazyConnectionDataSourceProxy : 트랜잭션 시작이 아니라 첫 SQL 실행 시점에 커넥션을 가져옴 -> 그때는 readOnly 여부가 정해져 있음
+// replica 커넥션 풀은 Replica 가, primary 커넥션 풀은 이 객체가 닫음
+public class ReplicatedDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+
+    public ReplicatedDataSource(HikariDataSource primary, ReplicationLog replicationLog) {
+        this.primary = primary;
+
+        ReplicationCapture capture = new ReplicationCapture(replicationLog);
+        DataSource capturingPrimary = ProxyDataSourceBuilder.create(ReadWriteRoutingDataSource.PRIMARY, primary)
+                .listener(capture)
+                .methodListener(capture)
+                .build();
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(capturingPrimary, replicationLog);
+        routing.afterPropertiesSet();
+        setTargetDataSource(routing);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+}
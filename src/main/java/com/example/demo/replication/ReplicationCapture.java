@@ -0,0 +1,134 @@
+package com.example.demo.replication;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// primary DataSource (datasource-proxy) 에서 쓰기 문장을 모아 commit 될 때 ReplicationLog 로 전달
+// - 트랜잭션 안의 쓰기는 커넥션별로 모아두었다가 commit 에 성공하면 전달, rollback/close 되면 버림
+// - autocommit 쓰기 (hibernate 의 DDL 등) 는 실행되자마자 전달
+// - commit 순서와 복제 순서가 같도록 쓰기가 있는 commit (과 autocommit 쓰기) 은 ReplicationLog 의 lock 을 잡고 실행
+class ReplicationCapture implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String[] WRITE_PREFIXES = {"insert", "update", "delete", "merge", "create", "drop", "alter", "truncate"};
+
+    private final ReplicationLog replicationLog;
+
+    private final Map<String, List<CapturedStatement>> pending = new ConcurrentHashMap<>(); // connection id -> 아직 commit 되지 않은 쓰기
+
+    ReplicationCapture(ReplicationLog replicationLog) {
+        this.replicationLog = replicationLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (isWrite(queryInfoList) && isAutoCommit(execInfo)) {
+            replicationLog.lock();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!isWrite(queryInfoList)) {
+            return;
+        }
+
+        if (!isAutoCommit(execInfo)) {
+            if (execInfo.isSuccess()) {
+                pending.computeIfAbsent(execInfo.getConnectionId(), id -> new ArrayList<>()).addAll(capture(queryInfoList));
+            }
+            return;
+        }
+
+        try {
+            if (execInfo.isSuccess()) {
+                replicationLog.publish(capture(queryInfoList));
+            }
+        } finally {
+            replicationLog.unlock();
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        if (isConnectionMethod(executionContext, "commit") && pending.containsKey(connectionId(executionContext))) {
+            replicationLog.lock();
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof Connection)) {
+            return;
+        }
+
+        String method = executionContext.getMethod().getName();
+        if ("commit".equals(method)) {
+            List<CapturedStatement> statements = pending.remove(connectionId(executionContext));
+            if (statements == null) {
+                return; // 쓰기가 없던 트랜잭션 : lock 을 잡지 않았음
+            }
+            try {
+                if (executionContext.getThrown() == null) {
+                    replicationLog.publish(statements);
+                }
+            } finally {
+                replicationLog.unlock();
+            }
+        } else if (("rollback".equals(method) && isEmpty(executionContext.getMethodArgs())) || "close".equals(method)) {
+            pending.remove(connectionId(executionContext));
+        }
+    }
+
+    private static boolean isConnectionMethod(MethodExecutionContext executionContext, String name) {
+        return executionContext.getTarget() instanceof Connection && name.equals(executionContext.getMethod().getName());
+    }
+
+    private static String connectionId(MethodExecutionContext executionContext) {
+        return executionContext.getConnectionInfo().getConnectionId();
+    }
+
+    private static boolean isEmpty(Object[] args) {
+        return args == null || args.length == 0;
+    }
+
+    private static boolean isAutoCommit(ExecutionInfo execInfo) {
+        try {
+            return execInfo.getStatement().getConnection().getAutoCommit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("커넥션의 autocommit 여부를 확인할 수 없습니다.", e);
+        }
+    }
+
+    private static boolean isWrite(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream().anyMatch(queryInfo -> isWrite(queryInfo.getQuery()));
+    }
+
+    private static boolean isWrite(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (String prefix : WRITE_PREFIXES) {
+            if (statement.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<CapturedStatement> capture(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .filter(queryInfo -> isWrite(queryInfo.getQuery()))
+                .map(queryInfo -> new CapturedStatement(queryInfo.getQuery(), queryInfo.getParametersList()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.replication;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// primary -> replica 복제 로그 (statement 기반)
+// - primary 에서 commit 된 트랜잭션의 쓰기 문장을 commit 순서대로 번호(position)를 붙여 모든 replica 에 전달
+// - 같은 행을 고친 트랜잭션이 replica 에서 다른 순서로 적용되지 않도록, 쓰기가 있는 트랜잭션의 commit 은 lock 을 잡고 한번에 하나씩 함
+// - readOnly 트랜잭션이 읽을 replica 선택 : 요구 위치(read-your-writes)까지 적용했고 지연이 max-lag 이하인 replica 를 돌아가며 사용
+//   조건에 맞는 replica 가 없거나 아직 시작 전(activate 전)이면 null -> primary 에서 읽음
+// metrics : post.replication.position{replica}, post.replication.lag{replica}, post.datasource.reads{target=replica|primary}
+public class ReplicationLog implements MeterBinder, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLog.class);
+
+    private final List<Replica> replicas;
+
+    private final long maxLagNanos;
+
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder primaryReads = new LongAdder();
+
+    private volatile long committedPosition;
+
+    private volatile boolean active;
+
+    public ReplicationLog(List<Replica> replicas, Duration maxLag) {
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // primary 에서 마지막으로 commit 된 쓰기의 위치 (쓰기 응답의 X-Replication-Position)
+    public long committedPosition() {
+        return committedPosition;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    // 시작 시점의 스키마(DDL)까지 복제된 뒤에 호출 -> 이후부터 replica 에서 읽음
+    public void activate() {
+        active = true;
+    }
+
+    // commit 한 쓰기를 다음 위치로 기록하고 replica 에 전달 (ReplicationCapture 는 commit 전에 lock 을 잡아둠 - 재진입)
+    public void publish(List<CapturedStatement> statements) {
+        commitLock.lock();
+        try {
+            Entry entry = new Entry(committedPosition + 1, System.nanoTime(), statements);
+            committedPosition = entry.getPosition();
+            replicas.forEach(replica -> replica.enqueue(entry));
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // 읽을 replica (없으면 null -> primary)
+    public Replica select(long requiredPosition) {
+        if (active && !replicas.isEmpty()) {
+            int size = replicas.size();
+            int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.isReadable(requiredPosition, maxLagNanos)) {
+                    replicaReads.increment();
+                    return replica;
+                }
+            }
+        }
+        primaryReads.increment();
+        return null;
+    }
+
+    // 실패하지 않은 모든 replica 가 현재 commit 위치까지 적용할 때까지 대기
+    public boolean awaitCaughtUp(Duration timeout) throws InterruptedException {
+        long position = committedPosition;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Replica replica : replicas) {
+            while (!replica.isFailed() && replica.getAppliedPosition() < position) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(5);
+            }
+        }
+        return true;
+    }
+
+    void lock() {
+        commitLock.lock();
+    }
+
+    void unlock() {
+        commitLock.unlock();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("post.replication.position", replica, Replica::getAppliedPosition)
+                    .description("replica 에 적용된 마지막 commit 위치")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            Gauge.builder("post.replication.lag", replica, r -> r.lagNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .description("replica 가 아직 적용하지 못한 가장 오래된 commit 이후 지난 시간")
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+        Gauge.builder("post.replication.position", this, ReplicationLog::committedPosition)
+                .description("primary 에서 마지막으로 commit 된 쓰기의 위치")
+                .tag("replica", "primary")
+                .register(registry);
+        FunctionCounter.builder("post.datasource.reads", replicaReads, LongAdder::sum)
+                .description("readOnly 트랜잭션을 연결한 DataSource")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("post.datasource.reads", primaryReads, LongAdder::sum)
+                .description("readOnly 트랜잭션을 연결한 DataSource")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        active = false;
+        for (Replica replica : replicas) {
+            try {
+                replica.close();
+            } catch (IOException e) {
+                log.warn("replica {} 를 닫지 못했습니다.", replica.getName(), e);
+            }
+        }
+    }
+
+    // commit 된 트랜잭션 하나
+    static final class Entry {
+
+        private final long position;
+
+        private final long committedAt; // System.nanoTime()
+
+        private final List<CapturedStatement> statements;
+
+        private Entry(long position, long committedAt, List<CapturedStatement> statements) {
+            this.position = position;
+            this.committedAt = committedAt;
+            this.statements = statements;
+        }
+
+        long getPosition() {
+            return position;
+        }
+
+        long getCommittedAt() {
+            return committedAt;
+        }
+
+        List<CapturedStatement> getStatements() {
+            return statements;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.replication;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 쓰기 요청(GET/HEAD 가 아닌 요청)의 응답에 primary 의 현재 commit 위치를 X-Replication-Position 헤더로 추가
+// 클라이언트가 이 값을 다음 읽기 요청에 그대로 넣으면 자신이 쓴 내용을 반영한 DB 에서 읽음 (read-your-writes)
+// 본문을 쓸 때가 아니라 handler 의 작업이 끝난 뒤 넣으므로 본문이 없는 응답(204, 202 등)에도 포함됨
+// - DeferredResult 로 응답하는 endpoint (PostExecutors) : 작업이 끝나서(commit 이후) 결과를 쓰러 들어온 async dispatch 의 시작
+// - 동기 handler : handler 가 끝난 뒤 (반환값을 쓰면서 이미 commit 된 응답에는 넣을 수 없으므로 쓰기 endpoint 는 DeferredResult 로 응답)
+@RequiredArgsConstructor
+public class ReplicationPositionInterceptor implements HandlerInterceptor {
+
+    private final ReplicationLog replicationLog;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            setPosition(request, response);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) { // async dispatch 는 preHandle 에서 이미 넣음
+            setPosition(request, response);
+        }
+    }
+
+    private void setPosition(HttpServletRequest request, HttpServletResponse response) {
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD && !response.isCommitted()) {
+            response.setHeader(ReadConsistency.HEADER, String.valueOf(replicationLog.committedPosition()));
+        }
+    }
+}
@@ -1,10 +1,90 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // @Repository 적어야 스프링 IOC에 빈으로 등록이 되는데,
 // JpaRepository를 extends 하면 생략 가능 (자동으로 빈에 등록 됨)
 // JpaRepository는 CRUD 함수를 들고 있음
-public interface PostRepository extends JpaRepository<Post, Long> {
-}
\ No newline at end of file
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    int STREAM_FETCH_SIZE = 100;
+
+    // content 는 지연 로딩 컬럼이므로, content 를 응답하는 조회는 "fetch all properties" 로 한번에 읽어옴 (게시글마다 추가 조회 방지)
+
+    // 단건 조회 (content 포함)
+    @Query("select p from Post p fetch all properties where p.id = :id")
+    Optional<Post> findWithContentById(@Param("id") Long id);
+
+    // 전체 조회 (content 포함)
+    @Override
+    @Query("select p from Post p fetch all properties")
+    List<Post> findAll();
+
+    // keyset pagination : where id > :id order by id limit :size
+    // offset 방식과 달리 PK 인덱스에서 바로 시작 위치를 찾기 때문에 뒤쪽 페이지도 비용이 일정함
+    @Query("select p from Post p fetch all properties where p.id > :id order by p.id asc")
+    List<Post> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    // 요약 조회 : id, title 과 저장 시 잘라둔 content 앞부분(excerpt)만 select (content 는 읽지도, 압축 해제하지도 않음)
+    @Query("select new com.example.demo.dto.post.PostSummary(p.id, p.title, p.excerpt) " +
+            "from Post p where p.id > :id order by p.id asc")
+    List<PostSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    // 버전 정보만 조회 (content 를 읽지 않고 조건부 GET 의 304 여부를 판단)
+    @Query("select new com.example.demo.dto.post.PostVersion(p.version, p.modifiedAt) from Post p where p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+
+    // 단일 UPDATE 문으로 수정 (엔티티를 먼저 select 하지 않음) : 반환값은 변경된 행 수 (0 이면 없는 id)
+    // bulk 연산은 @Version 과 @PreUpdate(modifiedAt, excerpt) 를 처리하지 않으므로 직접 set 함
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Post p set p.title = :title, p.content = :content, p.excerpt = :excerpt, p.version = p.version + 1, p.modifiedAt = :modifiedAt " +
+            "where p.id = :id")
+    int updateById(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+                   @Param("excerpt") String excerpt, @Param("modifiedAt") Instant modifiedAt);
+
+    // If-Match 가 있는 경우 : 버전까지 일치해야 수정됨
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Post p set p.title = :title, p.content = :content, p.excerpt = :excerpt, p.version = p.version + 1, p.modifiedAt = :modifiedAt " +
+            "where p.id = :id and p.version = :version")
+    int updateByIdAndVersion(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+                             @Param("content") String content, @Param("excerpt") String excerpt,
+                             @Param("modifiedAt") Instant modifiedAt);
+
+    // 단일 DELETE 문으로 삭제 (CrudRepository.deleteById 는 findById 후 삭제함)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Post p where p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Post p where p.id = :id and p.version = :version")
+    int removeByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    // 전체 스트리밍 조회 : JDBC fetch size 만큼씩 커서로 읽어옴 (트랜잭션 안에서 사용하고 반드시 close 해야함)
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select p from Post p fetch all properties order by p.id asc")
+    Stream<Post> streamAllOrderById();
+
+    // id 만 스트리밍 조회 (서버 시작 시 PostIdFilter 구성용)
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE)
+    })
+    @Query("select p.id from Post p")
+    Stream<Long> streamAllIds();
+}
@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Spring Data 가 만들어주지 못하는 쿼리 (PostRepositoryImpl 에서 구현)
+public interface PostRepositoryCustom {
+
+    // null 이 아닌 항목만 set 하는 UPDATE 한번으로 수정 (version 이 null 이면 버전 확인 없음) : 반환값은 변경된 행 수
+    int patchById(Long id, Long version, String title, String content, Instant modifiedAt);
+
+    // content 를 String 으로 읽지 않고 UTF-8 byte 스트림으로 reader 에 넘김 (스트림은 reader 가 끝날 때까지만 유효, 트랜잭션 안에서 호출)
+    // 반환값 : 게시글이 있으면 true
+    boolean readContent(Long id, ContentReader reader);
+
+    // 모든 게시글의 id, 버전과 content 의 UTF-8 byte 길이를 reader 에 넘김 (압축된 content 도 header 만 읽음, 트랜잭션 안에서 호출)
+    void readContentLengths(ContentLengthReader reader);
+
+    // 게시글 한건의 content UTF-8 byte 길이 (header 만 읽음) - 행을 잠그므로 같은 트랜잭션에서 수정/삭제하기 전의 값이 보장됨 (트랜잭션 안에서 호출)
+    // 게시글이 없으면 empty
+    OptionalLong lockContentLength(Long id);
+
+    // 게시글 id 를 count 개 미리 할당 (post_seq, 트랜잭션 안에서 호출) - 이후 이 id 로 persist 하면 그대로 사용됨
+    List<Long> reserveIds(int count);
+
+    @FunctionalInterface
+    interface ContentReader {
+
+        // length : content 의 UTF-8 byte 길이
+        void read(long length, InputStream content) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ContentLengthReader {
+
+        // length : content 의 UTF-8 byte 길이 (content 가 null 이면 0)
+        void read(long id, long version, long length);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.DecodedContent;
+import com.example.demo.domain.Post;
+import com.example.demo.domain.PostContentConverter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+// 이름이 {Repository 이름}Impl 이면 Spring Data 가 PostRepository 의 구현에 합쳐줌
+@RequiredArgsConstructor
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    // 요청에 있는 컬럼만 UPDATE 문에 포함 (제목만 고치면 content 는 다시 쓰지 않음)
+    @Override
+    public int patchById(Long id, Long version, String title, String content, Instant modifiedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Post> update = cb.createCriteriaUpdate(Post.class);
+        Root<Post> post = update.from(Post.class);
+
+        if (title != null) {
+            update.set(post.<String>get("title"), title);
+        }
+        if (content != null) {
+            update.set(post.<String>get("content"), content);
+            update.set(post.<String>get("excerpt"), Post.excerptOf(content));
+        }
+        update.set(post.<Long>get("version"), cb.sum(post.<Long>get("version"), 1L));
+        update.set(post.<Instant>get("modifiedAt"), modifiedAt);
+
+        Predicate where = cb.equal(post.get("id"), id);
+        if (version != null) {
+            where = cb.and(where, cb.equal(post.get("version"), version));
+        }
+        update.where(where);
+
+        // @Modifying(flushAutomatically = true, clearAutomatically = true) 와 같은 동작
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    // 엔티티를 거치지 않고 JDBC 로 content 컬럼을 binary stream 으로 읽음 (압축된 경우 읽는 만큼씩 압축 해제)
+    @Override
+    public boolean readContent(Long id, ContentReader reader) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select octet_length(content), content from Post where id = ?")) {
+                statement.setLong(1, id);
+                try (ResultSet row = statement.executeQuery()) {
+                    if (!row.next()) {
+                        return false;
+                    }
+
+                    long storedLength = row.getLong(1); // null 이면 0
+                    try (InputStream stored = storedLength == 0 ? InputStream.nullInputStream() : row.getBinaryStream(2)) {
+                        DecodedContent content = PostContentConverter.decode(stored, storedLength);
+                        reader.read(content.getLength(), content.getStream());
+                    }
+                    return true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 압축하지 않은 값은 컬럼 길이로, 압축한 값은 header 의 원본 길이로 계산 (content 전체를 읽거나 압축 해제하지 않음)
+    @Override
+    public void readContentLengths(ContentLengthReader reader) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id, version, octet_length(content), content from Post")) {
+                statement.setFetchSize(PostRepository.STREAM_FETCH_SIZE);
+                try (ResultSet row = statement.executeQuery()) {
+                    while (row.next()) {
+                        reader.read(row.getLong(1), row.getLong(2), contentLength(row, 3));
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public OptionalLong lockContentLength(Long id) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select octet_length(content), content from Post where id = ? for update")) {
+                statement.setLong(1, id);
+                try (ResultSet row = statement.executeQuery()) {
+                    return row.next() ? OptionalLong.of(contentLength(row, 1)) : OptionalLong.empty();
+                }
+            }
+        });
+    }
+
+    // column : octet_length(content) 의 위치 (다음 column 이 content)
+    private static long contentLength(ResultSet row, int column) throws SQLException {
+        long storedLength = row.getLong(column); // null 이면 0
+        try (InputStream stored = storedLength == 0 ? InputStream.nullInputStream() : row.getBinaryStream(column + 1)) {
+            return PostContentConverter.decode(stored, storedLength).getLength();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Post 의 id generator (pooled 시퀀스) 를 그대로 사용 -> 시퀀스 호출은 50개마다 한번, 일반 저장과 id 가 겹치지 않음
+    @Override
+    public List<Long> reserveIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = session.getFactory().getMetamodel()
+                .entityPersister(Post.class)
+                .getIdentifierGenerator();
+
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) generator.generate(session, null));
+        }
+        return ids;
+    }
+}
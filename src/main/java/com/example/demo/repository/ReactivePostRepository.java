@@ -0,0 +1,279 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.DecodedContent;
+import com.example.demo.domain.Post;
+import com.example.demo.domain.PostContentConverter;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// reactive 프로필의 게시글 저장소 : JPA 대신 R2DBC (non-blocking 드라이버) 로 같은 Post 테이블을 사용
+// - 테이블과 시퀀스는 JPA (ddl-auto) 가 만든 것을 그대로 사용 (JDBC 와 R2DBC 가 같은 H2 in-memory DB 에 연결)
+// - content 는 PostContentConverter 로 JPA 와 같은 형식으로 저장/해제
+// - 영속성 컨텍스트가 없으므로 PostRepository 의 bulk 쿼리와 같은 SQL 을 직접 실행
+@Profile("reactive")
+@Repository
+public class ReactivePostRepository {
+
+    private static final String COLUMNS = "id, title, content, version, modifiedAt";
+
+    private static final String INSERT = "insert into Post (id, title, content, excerpt, version, modifiedAt) values ($1, $2, $3, $4, 0, $5)";
+
+    private static final int SEQUENCE_INCREMENT = 50; // Post 의 post_seq increment_size 와 같은 값
+
+    private static final ZoneId ZONE = ZoneId.systemDefault(); // hibernate 와 같이 timestamp 컬럼은 JVM 기본 time zone 으로 저장
+
+    private final DatabaseClient databaseClient;
+
+    private final PostContentConverter contentConverter;
+
+    private long nextId = 1; // 미리 할당받은 id 범위 (synchronized)
+
+    private long maxId = 0;
+
+    public ReactivePostRepository(ConnectionFactory connectionFactory,
+                                  @Value("${post.content.compression.enabled:true}") boolean compressionEnabled,
+                                  @Value("${post.content.compression.min-size:" + PostContentConverter.DEFAULT_MIN_SIZE + "}") int compressionMinSize) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.contentConverter = new PostContentConverter(compressionEnabled, compressionMinSize);
+    }
+
+    public Mono<Post> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from Post where id = :id")
+                .bind("id", id)
+                .map(this::toPost)
+                .one();
+    }
+
+    // 조건부 GET 용 : content 없이 버전 컬럼만 조회
+    public Mono<PostVersion> findVersionById(Long id) {
+        return databaseClient.sql("select version, modifiedAt from Post where id = :id")
+                .bind("id", id)
+                .map(row -> new PostVersion(row.get("version", Long.class), toInstant(row.get("modifiedAt", LocalDateTime.class))))
+                .one();
+    }
+
+    // GET /post/{id}/content 용 : content 컬럼만 조회 (Post 로 만들지 않고 압축 해제 스트림으로 넘김)
+    public Mono<DecodedContent> findContentById(Long id) {
+        return databaseClient.sql("select content from Post where id = :id")
+                .bind("id", id)
+                .map(row -> decode(row.get("content", byte[].class)))
+                .one();
+    }
+
+    // keyset pagination : 행을 읽는 대로 하나씩 내려보냄
+    public Flux<Post> findByIdGreaterThan(long id, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from Post where id > :id order by id asc limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(this::toPost)
+                .all();
+    }
+
+    public Flux<PostSummary> findSummariesByIdGreaterThan(long id, int limit) {
+        return databaseClient.sql("select id, title, excerpt from Post where id > :id order by id asc limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(row -> new PostSummary(row.get("id", Long.class), row.get("title", String.class), row.get("excerpt", String.class)))
+                .all();
+    }
+
+    public Flux<Post> findAllOrderById() {
+        return databaseClient.sql("select " + COLUMNS + " from Post order by id asc")
+                .map(this::toPost)
+                .all();
+    }
+
+    // id, version 을 할당해서 저장한 뒤 같은 객체를 반환
+    public Mono<Post> insert(Post post) {
+        return nextId().flatMap(id -> {
+            post.setId(id);
+            post.setVersion(0L);
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into Post (id, title, content, excerpt, version, modifiedAt) " +
+                            "values (:id, :title, :content, :excerpt, 0, :modifiedAt)")
+                    .bind("id", id);
+            spec = bind(spec, "title", post.getTitle(), String.class);
+            spec = bind(spec, "content", contentConverter.convertToDatabaseColumn(post.getContent()), byte[].class);
+            spec = bind(spec, "excerpt", Post.excerptOf(post.getContent()), String.class);
+            return spec.bind("modifiedAt", toLocalDateTime(post.getModifiedAt()))
+                    .fetch()
+                    .rowsUpdated()
+                    .thenReturn(post);
+        });
+    }
+
+    // 한 커넥션, 한 트랜잭션에서 insert 문 하나에 여러 건을 bind 해서 실행 -> 요청 순서대로 할당한 id 반환
+    public Mono<List<Long>> insertAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return Mono.just(Collections.emptyList());
+        }
+
+        return Flux.fromIterable(posts)
+                .concatMap(post -> nextId().doOnNext(post::setId))
+                .collectList()
+                .flatMap(ids -> databaseClient.inConnection(connection -> {
+                    Statement statement = connection.createStatement(INSERT);
+                    for (int i = 0; i < posts.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        bind(statement, posts.get(i));
+                    }
+
+                    return Mono.from(connection.beginTransaction())
+                            .thenMany(Flux.defer(() -> Flux.from(statement.execute())))
+                            .flatMap(Result::getRowsUpdated)
+                            .then(Mono.from(connection.commitTransaction()))
+                            .onErrorResume(e -> Mono.from(connection.rollbackTransaction()).then(Mono.error(e)))
+                            .thenReturn(ids);
+                }));
+    }
+
+    // version 이 null 이면 버전 확인 없이 수정
+    // H2 의 final table 로 UPDATE 와 같은 문장에서 수정 후 버전을 읽음 (변경된 행이 없으면 empty)
+    public Mono<PostVersion> updateById(Long id, Long version, String title, String content, String excerpt, Instant modifiedAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select version, modifiedAt from final table (" +
+                "update Post set title = :title, content = :content, excerpt = :excerpt, " +
+                "version = version + 1, modifiedAt = :modifiedAt" + where(version) + ")");
+        spec = bind(spec, "title", title, String.class);
+        spec = bind(spec, "content", contentConverter.convertToDatabaseColumn(content), byte[].class);
+        spec = bind(spec, "excerpt", excerpt, String.class);
+        return bindWhere(spec.bind("modifiedAt", toLocalDateTime(modifiedAt)), id, version)
+                .map(row -> new PostVersion(row.get("version", Long.class), toInstant(row.get("modifiedAt", LocalDateTime.class))))
+                .one();
+    }
+
+    // null 이 아닌 항목만 수정 (PostRepositoryImpl.patchById 와 같은 UPDATE 문)
+    // final table 로 수정하지 않은 항목까지 포함한 수정 후 게시글을 같은 문장에서 읽음 (변경된 행이 없으면 empty)
+    public Mono<Post> patchById(Long id, Long version, String title, String content, Instant modifiedAt) {
+        List<String> columns = new ArrayList<>();
+        if (title != null) {
+            columns.add("title = :title");
+        }
+        if (content != null) {
+            columns.add("content = :content");
+            columns.add("excerpt = :excerpt");
+        }
+        columns.add("version = version + 1");
+        columns.add("modifiedAt = :modifiedAt");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select " + COLUMNS + " from final table (" +
+                "update Post set " + String.join(", ", columns) + where(version) + ")");
+        if (title != null) {
+            spec = spec.bind("title", title);
+        }
+        if (content != null) {
+            spec = spec.bind("content", contentConverter.convertToDatabaseColumn(content))
+                    .bind("excerpt", Post.excerptOf(content));
+        }
+        return bindWhere(spec.bind("modifiedAt", toLocalDateTime(modifiedAt)), id, version)
+                .map(this::toPost)
+                .one();
+    }
+
+    public Mono<Integer> removeById(Long id, Long version) {
+        return bindWhere(databaseClient.sql("delete from Post" + where(version)), id, version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // post_seq 를 hibernate pooled optimizer 와 같은 방식으로 사용 : 시퀀스 값 V 한번으로 (V - 49) ~ V 의 id 를 할당
+    // 동시에 여러 요청이 범위를 새로 받으면 먼저 받은 범위의 남은 id 는 버려짐 (중복은 없음)
+    private Mono<Long> nextId() {
+        Long reserved = takeReservedId();
+        if (reserved != null) {
+            return Mono.just(reserved);
+        }
+        return databaseClient.sql("select next value for post_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(this::reserve);
+    }
+
+    private synchronized Long takeReservedId() {
+        return nextId <= maxId ? nextId++ : null;
+    }
+
+    private synchronized long reserve(long sequenceValue) {
+        nextId = Math.max(1, sequenceValue - SEQUENCE_INCREMENT + 1); // 첫 값(1) 은 이전 범위가 없으므로 1 하나만 사용
+        maxId = sequenceValue;
+        return nextId++;
+    }
+
+    // 이름($1, $2 ...) 으로 바인딩 : r2dbc-h2 는 위치(index) 로 바인딩하면 add() 이후의 행을 끝나지 않은 바인딩으로 보지 않아 execute 가 실패함
+    private void bind(Statement statement, Post post) {
+        statement.bind("$1", post.getId());
+        bind(statement, "$2", post.getTitle(), String.class);
+        bind(statement, "$3", contentConverter.convertToDatabaseColumn(post.getContent()), byte[].class);
+        bind(statement, "$4", Post.excerptOf(post.getContent()), String.class);
+        statement.bind("$5", toLocalDateTime(post.getModifiedAt()));
+    }
+
+    private Post toPost(Row row) {
+        return Post.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .content(contentConverter.convertToEntityAttribute(row.get("content", byte[].class)))
+                .version(row.get("version", Long.class))
+                .modifiedAt(toInstant(row.get("modifiedAt", LocalDateTime.class))).build();
+    }
+
+    private static DecodedContent decode(byte[] stored) {
+        try {
+            return stored == null
+                    ? PostContentConverter.decode(InputStream.nullInputStream(), 0)
+                    : PostContentConverter.decode(new ByteArrayInputStream(stored), stored.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String where(Long version) {
+        return version == null ? " where id = :id" : " where id = :id and version = :version";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindWhere(DatabaseClient.GenericExecuteSpec spec, Long id, Long version) {
+        spec = spec.bind("id", id);
+        return version == null ? spec : spec.bind("version", version);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static void bind(Statement statement, String name, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(name, type);
+        } else {
+            statement.bind(name, value);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZONE);
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZONE).toInstant();
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.demo.search;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostSearchHit;
+import com.example.demo.dto.post.PostSearchStatsRes;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.shard.PostShards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// 게시글 제목/내용의 in-memory 역색인 (단어 -> 게시글 id 목록)
+// - 서버 시작 시 DB 전체로 만들고, 이후에는 저장/수정/삭제 이벤트(commit 이후)로 해당 게시글만 다시 색인
+// - 검색은 검색어 토큰의 posting list 만 훑으므로 전체 게시글 수가 아니라 검색어가 들어있는 게시글 수에 비례
+// - 점수는 BM25 (제목에 나온 단어는 TITLE_WEIGHT 배로 계산), 상위 k 개만 heap 으로 골라냄
+// 검색은 read lock, 색인 변경은 write lock
+// 전체 색인(rebuild)과 여러건 생성 색인은 읽어 둔 내용을 나중에 넣으므로, 그 사이에 삭제된 게시글은 진행 중인 작업이 모두 끝날 때까지 기억해서 다시 넣지 않음
+@Profile("!reactive") // 색인 갱신이 JPA commit 이벤트에 의존 (reactive 프로필에는 검색 API 가 없음)
+@RequiredArgsConstructor
+@Component
+public class PostSearchIndex {
+
+    public static final int TITLE_WEIGHT = 3;
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    // 메모리 추정용 대략적인 객체 크기 (64bit JVM, compressed oops 기준)
+    private static final int TERM_OVERHEAD = 120; // HashMap 노드 + String + Postings 객체 + 배열 헤더
+
+    private static final int DOC_OVERHEAD = 80; // HashMap 노드 + Long + Doc 객체 + 배열 헤더 (+ posting list 참조 4 byte 씩)
+
+    private final PostRepository postRepository;
+
+    private final EntityManager entityManager;
+
+    private final PostShards postShards;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Doc> docs = new HashMap<>(); // 삭제/수정 시 posting list 에서 빼기 위한 정방향 색인
+
+    private long totalLength; // 전체 게시글 길이 합 (BM25 의 평균 길이 계산용)
+
+    private int indexing; // 진행 중인 색인 작업 수 (rebuild, 여러건 생성)
+
+    private final Set<Long> removedWhileIndexing = new HashSet<>(); // 색인 작업 도중 삭제된 id (작업이 모두 끝나면 비움)
+
+    private volatile boolean ready = false;
+
+    // 게시글을 (다시) 색인 : 기존 색인은 지우고 새로 넣음
+    public void index(Post post) {
+        index(post.getId(), post.getTitle(), post.getContent());
+    }
+
+    private void index(Long id, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        PostTokenizer.tokenize(title, TITLE_WEIGHT, frequencies);
+        PostTokenizer.tokenize(content, 1, frequencies);
+
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (removedWhileIndexing.contains(id)) {
+                return; // 읽어 둔 뒤에 삭제된 게시글
+            }
+            removeLocked(id);
+            Postings[] lists = new Postings[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+                list.put(id, entry.getValue());
+                lists[i++] = list;
+            }
+            docs.put(id, new Doc(title, lists, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (indexing > 0) {
+                removedWhileIndexing.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 점수가 높은 순으로 최대 k 개
+    public List<PostSearchHit> search(String query, int k) {
+        Map<String, Integer> terms = new HashMap<>();
+        PostTokenizer.tokenize(query, 1, terms);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            if (docCount == 0) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms.keySet()) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (docCount - list.size() + 0.5) / (list.size() + 0.5));
+                for (int i = 0; i < list.size(); i++) {
+                    long id = list.id(i);
+                    int frequency = list.frequency(i);
+                    double norm = 1 - B + B * docs.get(id).length / averageLength;
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + K1 * norm), Double::sum);
+                }
+            }
+
+            // 크기 k 의 min-heap 으로 상위 k 개만 유지
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(k + 1, Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+
+            List<PostSearchHit> hits = new ArrayList<>(top.size());
+            for (Map.Entry<Long, Double> entry : top) {
+                hits.add(new PostSearchHit(entry.getKey(), docs.get(entry.getKey()).title, entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(PostSearchHit::getScore).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PostSearchStatsRes stats() {
+        lock.readLock().lock();
+        try {
+            long postingCount = 0;
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                postingCount += entry.getValue().size();
+                bytes += TERM_OVERHEAD + 2L * entry.getKey().length() + (long) Postings.ENTRY_BYTES * entry.getValue().capacity();
+            }
+            for (Doc doc : docs.values()) {
+                bytes += DOC_OVERHEAD + 4L * doc.postings.length + (doc.title == null ? 0 : 2L * doc.title.length());
+            }
+
+            return PostSearchStatsRes.builder()
+                    .ready(ready)
+                    .documentCount(docs.size())
+                    .termCount(postings.size())
+                    .postingCount(postingCount)
+                    .estimatedBytes(bytes).build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getId());
+            return;
+        }
+
+        index(event.getPost());
+    }
+
+    // 이벤트에 담긴 제목/content 로 commit 이후에 색인 (DB 를 다시 읽지 않음)
+    // 발행 시점(commit 전)부터 진행 중인 작업으로 세므로, commit 직후 색인하기 전에 다른 요청이 삭제한 게시글은 다시 넣지 않음
+    @EventListener
+    public void onPostsCreated(PostsCreatedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(event); // 트랜잭션 밖에서 발행된 경우 (이미 저장됨)
+            return;
+        }
+
+        beginIndexing();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        index(event);
+                    }
+                } finally {
+                    endIndexing();
+                }
+            }
+        });
+    }
+
+    // content 전체를 읽으므로 게시글을 하나씩 색인하고 바로 영속성 컨텍스트에서 분리
+    // shard 를 사용하면 shard 를 하나씩 차례로 색인
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        beginIndexing();
+        try {
+            postShards.forEachShard(() -> {
+                try (Stream<Post> posts = postRepository.streamAllOrderById()) {
+                    posts.forEach(post -> {
+                        index(post);
+                        entityManager.detach(post);
+                    });
+                }
+            });
+        } finally {
+            endIndexing();
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void index(PostsCreatedEvent event) {
+        for (int i = 0; i < event.getIds().size(); i++) {
+            index(event.getIds().get(i), event.getTitles().get(i), event.getContents().get(i));
+        }
+    }
+
+    private void beginIndexing() {
+        lock.writeLock().lock();
+        try {
+            indexing++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endIndexing() {
+        lock.writeLock().lock();
+        try {
+            if (--indexing == 0) {
+                removedWhileIndexing.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+
+        for (Postings list : doc.postings) {
+            list.remove(id);
+            if (list.size() == 0) {
+                postings.remove(list.term());
+            }
+        }
+        totalLength -= doc.length;
+    }
+
+    private static final class Doc {
+
+        private final String title;
+
+        private final Postings[] postings; // 이 게시글이 들어있는 posting list (단어 문자열을 따로 복사해두지 않음)
+
+        private final int length;
+
+        private Doc(String title, Postings[] postings, int length) {
+            this.title = title;
+            this.postings = postings;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.search;
+
+import java.util.Locale;
+import java.util.Map;
+
+// 검색용 토큰 분리
+// - 한글/한자 : 형태소 분석 없이 연속된 글자를 2글자씩(bigram) 자름 -> "스프링부트를" 로 저장돼도 "스프링부트" 로 찾을 수 있음
+//   (한 글자만 있는 경우는 그 글자 그대로)
+// - 그 외 문자/숫자 : 공백, 기호 기준으로 자른 단어 (소문자로 통일)
+public final class PostTokenizer {
+
+    public static final int MAX_TERM_LENGTH = 64; // 이보다 긴 단어는 색인하지 않음 (URL, base64 등)
+
+    private PostTokenizer() {
+    }
+
+    // text 의 토큰별 등장 횟수에 weight 를 곱해서 into 에 더함
+    public static void tokenize(String text, int weight, Map<String, Integer> into) {
+        if (text == null) {
+            return;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            int start = i;
+            if (isBigramChar(c)) {
+                while (i < length && isBigramChar(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    into.merge(lower.substring(start, i), weight, Integer::sum);
+                }
+                for (int j = start; j + 1 < i; j++) {
+                    into.merge(lower.substring(j, j + 2), weight, Integer::sum);
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                while (i < length && Character.isLetterOrDigit(lower.charAt(i)) && !isBigramChar(lower.charAt(i))) {
+                    i++;
+                }
+                if (i - start <= MAX_TERM_LENGTH) {
+                    into.merge(lower.substring(start, i), weight, Integer::sum);
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // 한글 음절, 한글 호환 자모, CJK 한자
+    private static boolean isBigramChar(char c) {
+        return (c >= '가' && c <= '힣')
+                || (c >= 'ㄱ' && c <= 'ㆎ')
+                || (c >= '一' && c <= '鿿');
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+
+// 한 단어의 posting list : id 오름차순으로 정렬된 (게시글 id, 가중치 적용된 등장 횟수) 배열
+// 항목 하나에 12 byte (Map<Long, Integer> 로 두면 박싱/노드 때문에 수십 byte)
+final class Postings {
+
+    static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final String term;
+
+    private long[] ids = new long[4];
+
+    private int[] frequencies = new int[4];
+
+    private int size;
+
+    Postings(String term) {
+        this.term = term;
+    }
+
+    // 새 게시글은 대부분 가장 큰 id 라서 끝에 추가됨
+    void put(long id, int frequency) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+        ids[index] = id;
+        frequencies[index] = frequency;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+        if (size > 4 && size < ids.length / 4) { // 많이 비면 배열을 줄임
+            ids = Arrays.copyOf(ids, ids.length / 2);
+            frequencies = Arrays.copyOf(frequencies, frequencies.length / 2);
+        }
+    }
+
+    String term() {
+        return term;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int index) {
+        return ids[index];
+    }
+
+    int frequency(int index) {
+        return frequencies[index];
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+}
@@ -1,63 +1,379 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.PostCache;
+import com.example.demo.cache.PostIdFilter;
 import com.example.demo.domain.Post;
+import com.example.demo.domain.PostContentConverter;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PostCacheStatsRes;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostCursor;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostSearchHit;
+import com.example.demo.dto.post.PostSearchStatsRes;
+import com.example.demo.dto.post.PostStatsRes;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
+import com.example.demo.event.PostChangeFeed;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.exception.PostNotFoundException;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.PostRepositoryCustom;
+import com.example.demo.search.PostSearchIndex;
+import com.example.demo.shard.PostShards;
+import com.example.demo.shard.ShardRouting;
+import com.example.demo.stats.PostStats;
 import com.example.demo.dto.post.WritePostReq;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+@Profile("!reactive") // reactive 프로필은 ReactivePostService
 @RequiredArgsConstructor // final 이 붙은 변수 생성자 자동 생성 : DI 자동 수행
 @Service // Bean 에 등록 : 기능 정의, Transaction 관리 가능 (즉, 다수의 repository 의 함수를 호출하여 전체 흐름을 관리한다.)
 public class PostService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    public static final int MAX_PAGE_SIZE = 100; // 클라이언트가 더 크게 요청해도 서버에서 잘라냄
+
+    public static final int DEFAULT_SEARCH_SIZE = 10;
+
+    public static final int MAX_BATCH_SIZE = 5000; // 한번의 요청으로 등록할 수 있는 최대 게시글 수
+
+    public static final int JDBC_BATCH_SIZE = 500; // hibernate.jdbc.batch_size 와 같은 값
+
     private final PostRepository postRepository;
 
+    private final EntityManager entityManager;
+
+    private final PostCache postCache;
+
+    private final PostIdFilter postIdFilter; // 확실히 없는 id 는 DB 조회 없이 바로 404
+
+    private final PostSearchIndex postSearchIndex;
+
+    private final PostStats postStats; // 게시글 수 / content 크기 집계 (테이블을 조회하지 않음)
+
+    private final ApplicationEventPublisher eventPublisher; // 변경 이벤트는 commit 이후에 구독자(캐시 등)에게 전달됨
+
+    private final PostChangeFeed postChangeFeed; // commit 된 변경 이벤트를 SSE 구독자에게 전달
+
+    private final PostWriteBehind postWriteBehind; // post.write-behind.enabled 이면 생성 요청을 모아서 commit
+
+    private final PostShards postShards; // post.sharding.enabled 이면 게시글을 id 블록 단위로 여러 DB 에 나누어 저장
+
+    @ShardRouting(ShardRouting.Key.NEW_POST)
     @Transactional // 해당 함수 종료 시, commit 또는 Rollback 수행 (트랜잭션 관리)
     public Post 저장하기(WritePostReq writePostReq) {
-        return postRepository.save(writePostReqToPost(writePostReq));
+        Post postEntity = postRepository.save(writePostReqToPost(writePostReq));
+        eventPublisher.publishEvent(PostChangedEvent.created(postEntity));
+
+        return postEntity;
+    }
+
+    // write-behind 사용 여부 : true 면 생성 요청은 저장접수하기로 처리
+    public boolean 지연저장사용중() {
+        return postWriteBehind.isEnabled();
+    }
+
+    // 트랜잭션 없이 id 만 할당해서 write-behind queue 에 넣고 바로 반환 (commit 은 PostWriteBehind 가 여러건을 묶어서 수행)
+    // queue 가 가득 차서 기다려도 자리가 나지 않으면 ServiceBusyException (503)
+    public Post 저장접수하기(WritePostReq writePostReq) {
+        return postWriteBehind.submit(writePostReqToPost(writePostReq));
+    }
+
+    // 한 트랜잭션 안에서 JDBC batch insert 로 저장 (JDBC_BATCH_SIZE 건마다 flush 후 영속성 컨텍스트를 비움)
+    // shard 를 사용하면 한 요청의 게시글은 모두 같은 shard 에 저장 (한 트랜잭션 유지)
+    @ShardRouting(ShardRouting.Key.NEW_POST)
+    @Transactional
+    public BatchWriteRes 여러건저장하기(List<WritePostReq> writePostReqs) {
+        if (writePostReqs.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한번에 최대 " + MAX_BATCH_SIZE + "건까지 등록할 수 있습니다.");
+        }
+
+        List<Long> ids = new ArrayList<>(writePostReqs.size());
+        List<String> titles = new ArrayList<>(writePostReqs.size());
+        List<String> contents = new ArrayList<>(writePostReqs.size());
+        int[] contentBytes = new int[writePostReqs.size()];
+        for (int i = 0; i < writePostReqs.size(); i++) {
+            WritePostReq writePostReq = writePostReqs.get(i);
+            Post post = postRepository.save(writePostReqToPost(writePostReq)); // 시퀀스 전략이라 persist 시점에 id 가 할당됨
+            ids.add(post.getId());
+            titles.add(writePostReq.getTitle());
+            contents.add(writePostReq.getContent());
+            contentBytes[i] = PostContentConverter.utf8Length(post.getContent());
+
+            if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        // 게시글마다 이벤트를 발행하면 commit 까지 모든 게시글 엔티티가 메모리에 남으므로 요청의 제목/content 를 모아서 한번에 발행
+        eventPublisher.publishEvent(new PostsCreatedEvent(ids, titles, contents, contentBytes));
+
+        return BatchWriteRes.builder()
+                .count(ids.size())
+                .ids(ids).build();
     }
 
     // update 시 정합성 유지 : 해당 서비스 함수 실행 동안, 다른 함수가 객체의 값을 변경하여도 해당 서비스 트랜잭션 내부의 값은 그대로 유지된다.
-    @Transactional(readOnly = true) // JPA는 변경 감지라는 내부 기능 off (성능 감소 방지), update 시 정합성을 유지 | insert의 유령데이터현상(팬텀현상) 못막음
+    // @Transactional(readOnly = true) // JPA는 변경 감지라는 내부 기능 off (성능 감소 방지), update 시 정합성을 유지 | insert의 유령데이터현상(팬텀현상) 못막음
+    // 캐시 hit 시에는 트랜잭션(= 커넥션)을 열지 않도록 붙이지 않음 - miss 시 findWithContentById 가 자체 readOnly 트랜잭션으로 조회
+    @ShardRouting(ShardRouting.Key.POST_ID)
     public Post 한건가져오기(Long id) {
-        return postRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("id를 확인해주세요!!"));
+        Post pending = postWriteBehind.pending(id); // 접수만 되고 아직 commit 되지 않은 게시글
+        if (pending != null) {
+            return pending;
+        }
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        return postCache.get(id, () -> postRepository.findWithContentById(id) // 캐시에는 content 까지 읽어온 게시글만 저장
+                .orElseThrow(() -> PostNotFoundException.INSTANCE));
+    }
+
+    // content 만 스트림으로 읽음 (게시글 엔티티나 content String 을 만들지 않음)
+    @ShardRouting(ShardRouting.Key.POST_ID)
+    @Transactional(readOnly = true)
+    public void 내용읽기(Long id, PostRepositoryCustom.ContentReader reader) {
+        postWriteBehind.awaitFlushed(id);
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        if (!postRepository.readContent(id, reader)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+    }
+
+    // 조건부 GET 용 버전 조회 : 캐시에 있으면 캐시의 버전, 없으면 content 없이 버전 컬럼만 조회
+    @ShardRouting(ShardRouting.Key.POST_ID)
+    public PostVersion 버전가져오기(Long id) {
+        Post pending = postWriteBehind.pending(id);
+        if (pending != null) {
+            return PostVersion.of(pending);
+        }
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        Post cached = postCache.peek(id);
+        if (cached != null) {
+            return PostVersion.of(cached);
+        }
+
+        return postRepository.findVersionById(id)
+                .orElseThrow(() -> PostNotFoundException.INSTANCE);
+    }
+
+    // 제목/내용 검색 (관련도 순으로 최대 limit 건)
+    public List<PostSearchHit> 검색하기(String q, int limit) {
+        if (q == null || q.trim().isEmpty()) {
+            throw new IllegalArgumentException("검색어를 입력해주세요.");
+        }
+        return postSearchIndex.search(q, pageSize(limit));
+    }
+
+    public PostSearchStatsRes 검색통계가져오기() {
+        return postSearchIndex.stats();
+    }
+
+    public PostCacheStatsRes 캐시통계가져오기() {
+        return postCache.stats();
     }
 
+    public PostStatsRes 통계가져오기() {
+        return postStats.stats();
+    }
+
+    // lastEventId : 다시 연결한 클라이언트의 Last-Event-ID (그 다음 이벤트부터 이어서 받음)
+    public SseEmitter 변경구독하기(String lastEventId) {
+        return postChangeFeed.subscribe(lastEventId);
+    }
+
+    // 전체 테이블을 한번에 메모리에 올림 - 명시적으로 요청한 경우(all=true)에만 사용
     @Transactional(readOnly = true)
     public List<Post> 모두가져오기() {
-        return postRepository.findAll();
+        return gather(postRepository::findAll, Post::getId, Integer.MAX_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public PostPageRes<Post> 페이지가져오기(String after, int limit) {
+        int size = pageSize(limit);
+
+        // 한건 더 조회해서 다음 페이지 존재 여부를 판단 (count 쿼리 불필요)
+        long cursor = PostCursor.decode(after);
+        List<Post> posts = gather(() -> postRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, size + 1)), Post::getId, size + 1);
+
+        return toPage(posts, size, Post::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public PostPageRes<PostSummary> 요약페이지가져오기(String after, int limit) {
+        int size = pageSize(limit);
+
+        long cursor = PostCursor.decode(after);
+        List<PostSummary> summaries = gather(() -> postRepository.findSummariesByIdGreaterThan(cursor, PageRequest.of(0, size + 1)), PostSummary::getId, size + 1);
+
+        return toPage(summaries, size, PostSummary::getId);
     }
 
+    // 전체 내보내기 : 한건씩 넘겨준 뒤 바로 영속성 컨텍스트에서 분리(detach) -> 행 수와 관계없이 메모리 사용량이 일정함
+    // shard 를 사용하면 shard 를 하나씩 차례로 내보냄 (shard 안에서만 id 순서)
+    @Transactional(readOnly = true)
+    public void 모두내보내기(Consumer<Post> consumer) {
+        if (postShards.isEnabled()) {
+            postShards.forEachShard(() -> export(consumer));
+        } else {
+            export(consumer);
+        }
+    }
+
+    private void export(Consumer<Post> consumer) {
+        try (Stream<Post> posts = postRepository.streamAllOrderById()) {
+            posts.forEach(post -> {
+                consumer.accept(post);
+                entityManager.detach(post);
+            });
+        }
+    }
+
+    // expectedVersion : If-Match 로 받은 버전 (null 이면 버전 확인 없이 수정)
+    // 게시글을 엔티티로 읽지 않고 UPDATE 한번으로 수정 (content 를 영속성 컨텍스트로 읽어오지 않음)
+    @ShardRouting(ShardRouting.Key.POST_ID)
     @Transactional
-    public Post 수정하기(Long id, WritePostReq writePostReq) {
-        // dirty check  후 update
-        Post postEntity = postRepository.findById(id)
-                .orElseThrow(()->new NoSuchElementException("id를 확인해주세요!!")); // 영속화 (Book 오브젝트) : 스프링 메모리 공간(영속성 컨텍스트)에 해당 객체(인스턴스)를 보유하고 있음
+    public Post 수정하기(Long id, WritePostReq writePostReq, Long expectedVersion) {
+        postWriteBehind.awaitFlushed(id); // 아직 commit 되지 않은 게시글이면 저장될 때까지 기다림
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        // 이전 content 크기 (통계에서 뺄 값) - 행을 잠그고 header 만 읽으므로 동시에 수정되어도 어긋나지 않음
+        int previousContentBytes = (int) postRepository.lockContentLength(id).orElse(0);
+        Instant modifiedAt = Instant.now();
+        String excerpt = Post.excerptOf(writePostReq.getContent());
+        int updated = expectedVersion == null
+                ? postRepository.updateById(id, writePostReq.getTitle(), writePostReq.getContent(), excerpt, modifiedAt)
+                : postRepository.updateByIdAndVersion(id, expectedVersion, writePostReq.getTitle(), writePostReq.getContent(), excerpt, modifiedAt);
+        if (updated == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
 
-        postEntity.setTitle(writePostReq.getTitle());
-        postEntity.setContent(writePostReq.getContent());
+        // 수정 후 버전은 같은 트랜잭션에서 버전 컬럼만 다시 조회 (content 는 요청 값을 그대로 사용)
+        PostVersion version = postRepository.findVersionById(id)
+                .orElseThrow(() -> PostNotFoundException.INSTANCE);
+        Post postEntity = Post.builder()
+                .id(id)
+                .title(writePostReq.getTitle())
+                .content(writePostReq.getContent())
+                .version(version.getVersion())
+                .modifiedAt(version.getModifiedAt()).build();
+        eventPublisher.publishEvent(PostChangedEvent.updated(postEntity, previousContentBytes));
 
         return postEntity;
-    } // 해당 서비스 함수 종료 시 => 트랜잭션 종료 시 => 영속화 되어있는 데이터를 DB로 갱신 (flush) => DB에 commit =====> 더티 체킹
+    }
 
+    // 요청에 있는 항목만 수정 (UPDATE 문에도 해당 컬럼만 포함)
+    @ShardRouting(ShardRouting.Key.POST_ID)
     @Transactional
-    public String 삭제하기(Long id) {
-        try {
-            postRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new NoSuchElementException("id를 확인해주세요!!");
+    public Post 부분수정하기(Long id, PatchPostReq patchPostReq, Long expectedVersion) {
+        if (patchPostReq.isEmpty()) {
+            throw new IllegalArgumentException("수정할 항목이 없습니다.");
+        }
+        postWriteBehind.awaitFlushed(id);
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        // content 를 수정할 때만 이전 크기를 읽음 (제목만 수정하면 크기가 그대로)
+        int previousContentBytes = patchPostReq.getContent() == null ? -1 : (int) postRepository.lockContentLength(id).orElse(0);
+        Instant modifiedAt = Instant.now();
+        int updated = postRepository.patchById(id, expectedVersion, patchPostReq.getTitle(), patchPostReq.getContent(), modifiedAt);
+        if (updated == 0) {
+            throw notUpdated(id, expectedVersion);
         }
 
+        // 수정하지 않은 항목과 수정 후 버전까지 포함하도록 같은 트랜잭션에서 다시 조회 (응답, 이벤트 구독자 모두 전체 게시글을 받음)
+        Post postEntity = postRepository.findWithContentById(id)
+                .orElseThrow(() -> PostNotFoundException.INSTANCE);
+        if (previousContentBytes < 0) {
+            previousContentBytes = PostContentConverter.utf8Length(postEntity.getContent());
+        }
+        eventPublisher.publishEvent(PostChangedEvent.updated(postEntity, previousContentBytes));
+
+        return postEntity;
+    }
+
+    // 게시글을 엔티티로 읽지 않고 DELETE 한번으로 삭제 (통계에서 뺄 content 크기만 먼저 읽음)
+    @ShardRouting(ShardRouting.Key.POST_ID)
+    @Transactional
+    public String 삭제하기(Long id, Long expectedVersion) {
+        postWriteBehind.awaitFlushed(id); // 아직 commit 되지 않은 게시글이면 저장될 때까지 기다림
+        if (postIdFilter.isKnownMissing(id)) {
+            throw PostNotFoundException.INSTANCE;
+        }
+
+        int previousContentBytes = (int) postRepository.lockContentLength(id).orElse(0);
+
+        int deleted = expectedVersion == null
+                ? postRepository.removeById(id)
+                : postRepository.removeByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id, previousContentBytes));
+
         return "ok";
     }
 
-    private Post writePostReqToPost(WritePostReq writePostReq) {
+    // shard 를 사용하면 모든 shard 에서 병렬로 조회해서 id 순서로 합침 (scatter-gather), 아니면 현재 트랜잭션에서 바로 조회
+    private <T> List<T> gather(Supplier<List<T>> query, Function<T, Long> idOf, int limit) {
+        return postShards.isEnabled() ? postShards.gather(query, idOf, limit) : query.get();
+    }
+
+    // 변경된 행이 없을 때 : 버전 조건이 없으면 없는 id, 있으면 버전만 조회해서 404 / 412 구분 (실패한 경우에만 조회)
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion == null || !postRepository.findVersionById(id).isPresent()) {
+            return PostNotFoundException.INSTANCE;
+        }
+        return new PreconditionFailedException();
+    }
+
+    // 아래 함수들은 ReactivePostService 와 공유
+    static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    static <T> PostPageRes<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = PostCursor.encode(idOf.apply(rows.get(size - 1)));
+        }
+
+        return PostPageRes.<T>builder()
+                .posts(rows)
+                .nextCursor(nextCursor).build();
+    }
+
+    static Post writePostReqToPost(WritePostReq writePostReq) {
         return Post.builder()
                 .title(writePostReq.getTitle())
                 .content(writePostReq.getContent()).build();
@@ -0,0 +1,361 @@
+package com.example.demo.service;
+
+import com.example.demo.cache.PostIdFilter;
+import com.example.demo.domain.Post;
+import com.example.demo.domain.PostContentConverter;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 생성 write-behind (group commit) - post.write-behind.enabled=true 일 때만 동작
+// - 요청 스레드 : id 를 미리 할당하고 queue 에 넣은 뒤 바로 응답 (commit 을 기다리지 않음)
+// - writer 스레드 : flush-size 건이 모이거나 첫 게시글이 들어온 뒤 flush-interval 이 지나면 한 트랜잭션으로 batch insert 후 commit
+//   -> 처리량이 commit 지연 시간이 아니라 묶음 크기에 비례
+// - queue 가 가득 차면 enqueue-timeout 만큼 기다린 뒤 503 (backpressure)
+// - 종료 시 새 요청은 받지 않고 queue 에 남은 게시글을 모두 저장한 뒤 멈춤
+// commit 전까지는 DB 에 없으므로 단건 조회는 pending 에서 먼저 찾고, 수정/삭제는 저장될 때까지 기다린다.
+// 컬럼 크기 등은 접수 시점에 확인하고, 그래도 묶음 commit 이 실패하면 한건씩 다시 저장 (한 게시글 때문에 묶음 전체를 잃지 않음)
+// 한건씩 저장해도 실패한 게시글은 이미 응답한 뒤이므로 로그와 실패 건수만 남음 -> 요청 단위 내구성보다 처리량이 중요한 경우에만 사용
+@Profile("!reactive")
+@Component
+public class PostWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(PostWriteBehind.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final long AWAIT_FLUSH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final PostRepository postRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PostIdFilter postIdFilter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+
+    private final int flushSize;
+
+    private final long flushIntervalNanos;
+
+    private final long enqueueTimeoutMillis;
+
+    private final BlockingQueue<Pending> queue;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>(); // queue 에 있거나 저장 중인 게시글
+
+    private final ArrayDeque<Long> reservedIds = new ArrayDeque<>(); // 미리 할당받은 id (synchronized)
+
+    private final LongAdder flushedCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile boolean running;
+
+    // 접수(running 확인 + enqueue) 는 read lock, 종료 시작은 write lock
+    // -> 종료가 시작된 뒤에는 enqueue 가 없으므로 writer 가 queue 를 비우고 멈추면 남는 게시글이 없음
+    private final ReentrantReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+    private Thread writer;
+
+    public PostWriteBehind(PostRepository postRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           PostIdFilter postIdFilter,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${post.write-behind.enabled:false}") boolean enabled,
+                           @Value("${post.write-behind.queue-capacity:10000}") int queueCapacity,
+                           @Value("${post.write-behind.flush-size:" + PostService.JDBC_BATCH_SIZE + "}") int flushSize,
+                           @Value("${post.write-behind.flush-interval:10ms}") Duration flushInterval,
+                           @Value("${post.write-behind.enqueue-timeout:100ms}") Duration enqueueTimeout) {
+        this.postRepository = postRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postIdFilter = postIdFilter;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "post-write-behind");
+        writer.start(); // daemon 이 아님 : 종료 시 남은 게시글을 저장할 때까지 JVM 이 기다림
+    }
+
+    // 새 요청은 받지 않고, queue 에 남은 게시글을 모두 저장한 뒤 종료 (DataSource 등은 이 빈보다 나중에 닫힘)
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        submitLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            if (writer.isAlive()) {
+                log.warn("write-behind queue 를 모두 저장하지 못하고 종료합니다. (남은 게시글 {} 건)", queue.size());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // id 와 modifiedAt 을 할당해서 queue 에 넣고, 응답용 게시글(저장될 게시글과 별도 객체)을 반환
+    // insert 에서 실패할 값(컬럼 크기 초과)은 응답하기 전에 IllegalArgumentException (400)
+    public Post submit(Post post) {
+        Post.checkLength(post.getTitle(), post.getContent());
+
+        submitLock.readLock().lock();
+        try {
+            if (!running) {
+                rejectedCount.increment();
+                throw new ServiceBusyException("게시글 저장을 받을 수 없는 상태입니다. 잠시 후 다시 시도해주세요.");
+            }
+            return enqueue(post);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    // 아직 저장되지 않은 게시글 (없으면 null)
+    public Post pending(Long id) {
+        Pending entry = pending.get(id);
+        return entry == null ? null : entry.accepted;
+    }
+
+    // 저장 대기 중인 게시글이면 commit (또는 실패) 될 때까지 기다림 - 수정/삭제가 아직 없는 행을 대상으로 실행되지 않도록
+    public void awaitFlushed(Long id) {
+        Pending entry = pending.get(id);
+        if (entry == null) {
+            return;
+        }
+        try {
+            entry.flushed.get(AWAIT_FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("게시글 저장이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("요청 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            // 저장에 실패한 게시글 : 이후 수정/삭제는 404 로 처리됨
+        }
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public long flushedCount() {
+        return flushedCount.sum();
+    }
+
+    public long batchCount() {
+        return batchCount.sum();
+    }
+
+    public long failedCount() {
+        return failedCount.sum();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    // running 확인과 같은 read lock 안에서 호출
+    private Post enqueue(Post post) {
+        post.setId(nextId());
+        post.setModifiedAt(Instant.now());
+        Post accepted = Post.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .version(0L) // persist 시 할당될 초기 버전
+                .modifiedAt(post.getModifiedAt()).build();
+
+        Pending entry = new Pending(post, accepted);
+        pending.put(post.getId(), entry);
+        postIdFilter.add(post.getId()); // commit 전에도 "있을 수 있는 id" 로 표시 (조회가 404 로 끝나지 않도록)
+        try {
+            if (!queue.offer(entry, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                pending.remove(post.getId());
+                rejectedCount.increment();
+                throw new ServiceBusyException("저장 대기 중인 게시글이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            pending.remove(post.getId());
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("요청 처리가 중단되었습니다.");
+        }
+        return accepted;
+    }
+
+    // flush-size 개씩 미리 할당 (시퀀스 호출은 pooled 전략으로 50개마다 한번)
+    private synchronized Long nextId() {
+        if (reservedIds.isEmpty()) {
+            List<Long> ids = transactionTemplate.execute(status -> postRepository.reserveIds(flushSize));
+            reservedIds.addAll(ids);
+        }
+        return reservedIds.poll();
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 게시글 기준으로 flush-interval 까지만 더 모음 (종료 중이면 기다리지 않음)
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Post> posts = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            posts.add(entry.post);
+        }
+
+        try {
+            persist(posts);
+        } catch (RuntimeException e) {
+            log.warn("write-behind 게시글 {} 건 묶음 저장에 실패해서 한건씩 다시 저장합니다. (id {} ~ {})",
+                    batch.size(), batch.get(0).post.getId(), batch.get(batch.size() - 1).post.getId(), e);
+            batch.forEach(this::retry);
+            return;
+        }
+
+        flushedCount.add(batch.size());
+        batchCount.increment();
+        for (Pending entry : batch) {
+            flushed(entry);
+        }
+    }
+
+    // rollback 된 엔티티는 version 등이 채워진 상태일 수 있으므로 접수한 값으로 새 엔티티를 만들어 저장
+    private void retry(Pending entry) {
+        Post post = Post.builder()
+                .id(entry.post.getId())
+                .title(entry.post.getTitle())
+                .content(entry.post.getContent())
+                .modifiedAt(entry.post.getModifiedAt()).build();
+        try {
+            persist(List.of(post));
+        } catch (RuntimeException e) {
+            failedCount.increment();
+            log.error("write-behind 게시글 저장에 실패했습니다. (id {})", post.getId(), e);
+            pending.remove(post.getId());
+            entry.flushed.completeExceptionally(e);
+            return;
+        }
+
+        flushedCount.increment();
+        flushed(entry);
+    }
+
+    // 한 트랜잭션으로 저장 - 변경 이벤트는 이 트랜잭션의 commit 이후에 구독자(검색 색인 등)에게 전달됨
+    private void persist(List<Post> posts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = new ArrayList<>(posts.size());
+            List<String> titles = new ArrayList<>(posts.size());
+            List<String> contents = new ArrayList<>(posts.size());
+            int[] contentBytes = new int[posts.size()];
+            for (Post post : posts) {
+                entityManager.persist(post); // PostIdGenerator 가 미리 할당한 id 를 그대로 사용
+                contentBytes[ids.size()] = PostContentConverter.utf8Length(post.getContent());
+                ids.add(post.getId());
+                titles.add(post.getTitle());
+                contents.add(post.getContent());
+            }
+            eventPublisher.publishEvent(new PostsCreatedEvent(ids, titles, contents, contentBytes)); // 묶음마다 이벤트 하나
+            entityManager.flush(); // hibernate.jdbc.batch_size 단위로 batch insert
+            entityManager.clear();
+        });
+    }
+
+    private void flushed(Pending entry) {
+        pending.remove(entry.post.getId());
+        entry.flushed.complete(null);
+    }
+
+    private static final class Pending {
+
+        private final Post post; // persist 할 엔티티 (writer 스레드만 사용)
+
+        private final Post accepted; // 응답/조회용
+
+        private final CompletableFuture<Void> flushed = new CompletableFuture<>();
+
+        private Pending(Post post, Post accepted) {
+            this.post = post;
+            this.accepted = accepted;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.DecodedContent;
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostCursor;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.exception.PostNotFoundException;
+import com.example.demo.exception.PreconditionFailedException;
+import com.example.demo.repository.ReactivePostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// reactive 프로필의 게시글 서비스 : PostService 와 같은 규칙 (페이지 크기, 커서, 404/412 구분) 을 Mono/Flux 로 처리
+// 요청 스레드(event loop)를 막지 않도록 DB 접근은 모두 ReactivePostRepository (R2DBC) 를 통함
+// 캐시, id 필터, 검색 색인, 통계, 변경 이벤트(SSE) 는 JPA 트랜잭션 commit 이벤트로 갱신되므로 이 프로필에서는 빈을 만들지 않음 (@Profile("!reactive"))
+@Profile("reactive")
+@RequiredArgsConstructor
+@Service
+public class ReactivePostService {
+
+    private final ReactivePostRepository reactivePostRepository;
+
+    public Mono<Post> 저장하기(WritePostReq writePostReq) {
+        Post post = PostService.writePostReqToPost(writePostReq);
+        post.setModifiedAt(Instant.now());
+        return reactivePostRepository.insert(post);
+    }
+
+    public Mono<BatchWriteRes> 여러건저장하기(List<WritePostReq> writePostReqs) {
+        if (writePostReqs.size() > PostService.MAX_BATCH_SIZE) {
+            return Mono.error(new IllegalArgumentException("한번에 최대 " + PostService.MAX_BATCH_SIZE + "건까지 등록할 수 있습니다."));
+        }
+
+        Instant modifiedAt = Instant.now();
+        List<Post> posts = writePostReqs.stream()
+                .map(PostService::writePostReqToPost)
+                .peek(post -> post.setModifiedAt(modifiedAt))
+                .collect(Collectors.toList());
+
+        return reactivePostRepository.insertAll(posts)
+                .map(ids -> BatchWriteRes.builder()
+                        .count(ids.size())
+                        .ids(ids).build());
+    }
+
+    public Mono<Post> 한건가져오기(Long id) {
+        return reactivePostRepository.findById(id)
+                .switchIfEmpty(Mono.error(PostNotFoundException.INSTANCE));
+    }
+
+    public Mono<PostVersion> 버전가져오기(Long id) {
+        return reactivePostRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(PostNotFoundException.INSTANCE));
+    }
+
+    public Mono<DecodedContent> 내용가져오기(Long id) {
+        return reactivePostRepository.findContentById(id)
+                .switchIfEmpty(Mono.error(PostNotFoundException.INSTANCE));
+    }
+
+    // 전체 조회 (all=true) - 응답은 JSON 배열이지만 행을 모두 모으지 않고 읽는 대로 직렬화
+    public Flux<Post> 모두가져오기() {
+        return reactivePostRepository.findAllOrderById();
+    }
+
+    // 한건 더 조회해서 다음 페이지 존재 여부를 판단 (nextCursor 를 만들어야 하므로 페이지 단위로 모음)
+    public Mono<PostPageRes<Post>> 페이지가져오기(String after, int limit) {
+        int size = PostService.pageSize(limit);
+        return reactivePostRepository.findByIdGreaterThan(PostCursor.decode(after), size + 1)
+                .collectList()
+                .map(posts -> PostService.toPage(posts, size, Post::getId));
+    }
+
+    // 같은 페이지를 모으지 않고 한건씩 스트리밍 (다음 페이지는 마지막 게시글 id 로 이어서 요청)
+    public Flux<Post> 페이지스트리밍하기(String after, int limit) {
+        return reactivePostRepository.findByIdGreaterThan(PostCursor.decode(after), PostService.pageSize(limit));
+    }
+
+    public Mono<PostPageRes<PostSummary>> 요약페이지가져오기(String after, int limit) {
+        int size = PostService.pageSize(limit);
+        return reactivePostRepository.findSummariesByIdGreaterThan(PostCursor.decode(after), size + 1)
+                .collectList()
+                .map(summaries -> PostService.toPage(summaries, size, PostSummary::getId));
+    }
+
+    public Flux<Post> 모두내보내기() {
+        return reactivePostRepository.findAllOrderById();
+    }
+
+    // expectedVersion : If-Match 로 받은 버전 (null 이면 버전 확인 없이 수정)
+    public Mono<Post> 수정하기(Long id, WritePostReq writePostReq, Long expectedVersion) {
+        Instant modifiedAt = Instant.now();
+        return reactivePostRepository.updateById(id, expectedVersion, writePostReq.getTitle(), writePostReq.getContent(),
+                        Post.excerptOf(writePostReq.getContent()), modifiedAt)
+                .map(version -> Post.builder()
+                        .id(id)
+                        .title(writePostReq.getTitle())
+                        .content(writePostReq.getContent())
+                        .version(version.getVersion())
+                        .modifiedAt(version.getModifiedAt()).build())
+                .switchIfEmpty(Mono.defer(() -> this.<Post>notUpdated(id, expectedVersion)));
+    }
+
+    // 응답에는 수정하지 않은 항목까지 포함한 수정 후 게시글
+    public Mono<Post> 부분수정하기(Long id, PatchPostReq patchPostReq, Long expectedVersion) {
+        if (patchPostReq.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("수정할 항목이 없습니다."));
+        }
+
+        Instant modifiedAt = Instant.now();
+        return reactivePostRepository.patchById(id, expectedVersion, patchPostReq.getTitle(), patchPostReq.getContent(), modifiedAt)
+                .switchIfEmpty(Mono.defer(() -> this.<Post>notUpdated(id, expectedVersion)));
+    }
+
+    public Mono<String> 삭제하기(Long id, Long expectedVersion) {
+        return reactivePostRepository.removeById(id, expectedVersion)
+                .flatMap(deleted -> deleted == 0
+                        ? this.<String>notUpdated(id, expectedVersion)
+                        : Mono.just("ok"));
+    }
+
+    // 변경된 행이 없을 때 : 버전 조건이 없으면 없는 id, 있으면 버전만 조회해서 404 / 412 구분
+    private <T> Mono<T> notUpdated(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(PostNotFoundException.INSTANCE);
+        }
+        return reactivePostRepository.findVersionById(id)
+                .flatMap(version -> Mono.<T>error(new PreconditionFailedException()))
+                .switchIfEmpty(Mono.error(PostNotFoundException.INSTANCE));
+    }
+}
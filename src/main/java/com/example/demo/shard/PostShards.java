@@ -0,0 +1,163 @@
+package com.example.demo.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 게시글 shard (post.sharding.enabled=true 일 때 spring.datasource 가 shard 0, shard-urls 가 shard 1 ~ N-1)
+// - id 블록 단위 range sharding : post_seq 가 한번에 발급하는 id 50개 (블록) 는 한 shard 에 있고, 블록은 shard 를 돌아가며 배정됨
+//   shard(id) = ((id - 1) / 50) % N  -> id 만 보고 shard 를 알 수 있음
+// - 각 shard 의 post_seq 는 자기 블록만 발급 (ShardSchema) -> shard 끼리 조율하지 않아도 id 가 겹치지 않음
+// - 현재 스레드가 사용할 shard 는 ThreadLocal 로 전달 (ShardRoutingDataSource 가 커넥션을 가져올 때 사용, 없으면 shard 0)
+// 꺼져 있으면 shard 는 하나이고, gather/forEachShard 는 현재 스레드(트랜잭션)에서 바로 실행
+@Component
+public class PostShards {
+
+    public static final int ID_BLOCK_SIZE = 50; // Post 의 post_seq increment_size 와 같은 값
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+
+    private final int count;
+
+    private final TransactionTemplate shardTransaction; // shard 마다 새 readOnly 트랜잭션
+
+    private final ExecutorService executor; // scatter-gather 용 (shard 수만큼의 스레드)
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public PostShards(PlatformTransactionManager transactionManager,
+                      @Value("${post.sharding.enabled:false}") boolean enabled,
+                      @Value("${post.sharding.shard-urls:}") List<String> shardUrls) {
+        this.enabled = enabled;
+        this.count = enabled ? shardUrls.size() + 1 : 1;
+
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardTransaction.setReadOnly(true);
+
+        if (!enabled) {
+            this.executor = null;
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "post-shard-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // 현재 스레드가 사용하는 shard (정하지 않았으면 null -> shard 0)
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public int shardOf(Long id) {
+        if (id == null || id < 1) {
+            return 0;
+        }
+        return (int) (((id - 1) / ID_BLOCK_SIZE) % count);
+    }
+
+    // 새 게시글을 저장할 shard (돌아가며 선택)
+    public int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), count);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> task) {
+        Integer previous = enter(shard);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // scatter-gather : 모든 shard 에서 병렬로 (각자 readOnly 트랜잭션) 조회한 뒤 id 순서로 합쳐서 최대 limit 건 반환
+    // query 는 shard 안에서 id 순서로 최대 limit 건을 반환해야 함
+    public <T> List<T> gather(Supplier<List<T>> query, Function<T, Long> idOf, int limit) {
+        if (!enabled) {
+            return query.get();
+        }
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(target, () -> shardTransaction.execute(status -> query.get())), executor));
+        }
+
+        try {
+            return futures.stream()
+                    .flatMap(future -> future.join().stream())
+                    .sorted(Comparator.comparing(idOf))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // 모든 shard 에서 차례로 (현재 스레드, shard 마다 새 readOnly 트랜잭션) 실행
+    public void forEachShard(Runnable task) {
+        if (!enabled) {
+            task.run();
+            return;
+        }
+
+        for (int shard = 0; shard < count; shard++) {
+            onShard(shard, () -> shardTransaction.execute(status -> {
+                task.run();
+                return null;
+            }));
+        }
+    }
+
+    static Integer enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 메서드를 실행할 shard 를 정하는 방법 (ShardRoutingAspect 가 트랜잭션이 시작되기 전에 적용)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardRouting {
+
+    Key value();
+
+    enum Key {
+        POST_ID, // 첫번째 인자(게시글 id)가 속한 shard
+        NEW_POST // 새 게시글 : shard 를 돌아가며 선택 (id 는 그 shard 의 post_seq 에서 발급)
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// @ShardRouting 이 붙은 메서드를 정해진 shard 에서 실행
+// 트랜잭션(@Transactional) 보다 바깥에서 적용해야 트랜잭션이 가져오는 커넥션이 해당 shard 의 커넥션이 됨
+// 이미 shard 가 정해진 스레드(다른 shard 메서드 안에서 호출)에서는 바꾸지 않음
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Aspect
+@Component
+public class ShardRoutingAspect {
+
+    private final PostShards postShards;
+
+    // 애노테이션을 advice 인자로 바인딩하지 않음 : HIGHEST_PRECEDENCE 로 ExposeInvocationInterceptor 보다 먼저 실행되면 바인딩할 JoinPointMatch 가 없음
+    @Around("@annotation(com.example.demo.shard.ShardRouting)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!postShards.isEnabled() || PostShards.current() != null) {
+            return joinPoint.proceed();
+        }
+
+        ShardRouting shardRouting = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(ShardRouting.class);
+
+        int shard = shardRouting.value() == ShardRouting.Key.NEW_POST
+                ? postShards.nextShard()
+                : postShards.shardOf((Long) joinPoint.getArgs()[0]);
+        Integer previous = PostShards.enter(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PostShards.restore(previous);
+        }
+    }
+}
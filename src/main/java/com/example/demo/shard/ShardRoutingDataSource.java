@@ -0,0 +1,49 @@
+package com.example.demo.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 애플리케이션이 사용하는 DataSource (post.sharding.enabled=true 일 때) : 커넥션을 현재 스레드의 shard (PostShards.current()) 에서 가져옴
+// shard 가 정해지지 않은 스레드 (서버 시작 시 스키마 생성 등) 는 shard 0 을 사용
+// shard 0 에서 실행되는 DDL 은 ShardSchema 가 기록해서 나머지 shard 에 적용
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards, ShardSchema shardSchema) {
+        this.shards = Collections.unmodifiableList(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, ProxyDataSourceBuilder.create("shard-0", shards.get(0))
+                .listener(shardSchema)
+                .build());
+        for (int shard = 1; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(targets.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public List<HikariDataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PostShards.current();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.shard;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// shard 스키마 준비
+// - hibernate (ddl-auto) 는 shard 0 에만 스키마를 만들므로, 그때 실행된 DDL 을 기록해두었다가 나머지 shard 에 같은 순서로 실행
+// - 모든 shard 의 post_seq 를 자기 id 블록만 발급하도록 변경 : shard k 는 50 * (k + 1) 부터 50 * N 씩 증가
+//   (pooled optimizer 는 시퀀스 값 V 로 (V - 49) ~ V 를 사용 -> shard k 의 블록은 k, k + N, k + 2N ... 번째 블록)
+public class ShardSchema implements QueryExecutionListener {
+
+    public static final String SEQUENCE = "post_seq"; // Post 의 sequence_name 과 같은 값
+
+    private static final String[] DDL_PREFIXES = {"create", "alter", "drop"};
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private volatile boolean recording = true;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recording || !execInfo.isSuccess()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (queryInfo.getParametersList().isEmpty() && isDdl(queryInfo.getQuery())) {
+                statements.add(queryInfo.getQuery());
+            }
+        }
+    }
+
+    // shards.get(0) 은 hibernate 가 스키마를 만든 shard
+    public void apply(List<? extends DataSource> shards) throws SQLException {
+        recording = false;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            try (Connection connection = shards.get(shard).getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (shard > 0) {
+                    for (String sql : statements) {
+                        statement.execute(sql);
+                    }
+                }
+                statement.execute("alter sequence " + SEQUENCE
+                        + " restart with " + (long) PostShards.ID_BLOCK_SIZE * (shard + 1)
+                        + " increment by " + (long) PostShards.ID_BLOCK_SIZE * shards.size());
+            }
+        }
+    }
+
+    private static boolean isDdl(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (String prefix : DDL_PREFIXES) {
+            if (statement.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.demo.stats;
+
+import com.example.demo.domain.PostContentConverter;
+import com.example.demo.dto.post.PostStatsRes;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.shard.PostShards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 수 / content 크기 합계 / 크기 구간별 게시글 수를 메모리에 유지 (GET /post/stats 가 테이블을 훑지 않도록)
+// - 서버 시작 시 DB 의 content 길이로 다시 만들고, 이후에는 저장/수정/삭제 이벤트(commit 이후)로 해당 게시글만 반영
+// - 카운터는 LongAdder 라 여러 스레드가 동시에 반영해도 경합이 없고, 조회는 고정된 개수의 카운터만 더함 (게시글 수와 무관)
+// - 수정/삭제 이벤트에 이전 content 크기가 들어있으므로 게시글별 크기를 기억하지 않음
+// - rebuild 중에 들어온 이벤트는 모아 두었다가, 다 읽은 뒤 읽은 행에 포함되지 않은 변경(버전으로 판단)만 반영
+// 카운터를 하나씩 읽으므로 반영 중인 변경이 있으면 count 와 합계가 잠깐 어긋날 수 있음
+@Profile("!reactive") // 집계 갱신이 JPA commit 이벤트에 의존 (reactive 프로필에는 통계 API 가 없음)
+@RequiredArgsConstructor
+@Component
+public class PostStats {
+
+    // 히스토그램 구간의 최대 크기 (byte, 포함) - 마지막 구간은 상한 없음
+    public static final long[] BUCKET_BOUNDS = {0, 256, 1024, 4 * 1024, 16 * 1024, 64 * 1024};
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalBytes = new LongAdder();
+
+    private final LongAdder[] buckets = newBuckets();
+
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock(); // 변경 반영은 read lock, rebuild 시작/끝은 write lock
+
+    private Map<Long, List<Change>> changesWhileRebuilding; // rebuild 중에만 있음
+
+    private volatile boolean ready = false;
+
+    public void created(Long id, int contentBytes) {
+        apply(id, new Change(PostChangedEvent.Type.CREATED, 0, -1, contentBytes));
+    }
+
+    // version : 수정 후 버전
+    public void updated(Long id, long version, int previousContentBytes, int contentBytes) {
+        apply(id, new Change(PostChangedEvent.Type.UPDATED, version, previousContentBytes, contentBytes));
+    }
+
+    public void deleted(Long id, int previousContentBytes) {
+        apply(id, new Change(PostChangedEvent.Type.DELETED, 0, previousContentBytes, -1));
+    }
+
+    public PostStatsRes stats() {
+        long total = count.sum();
+        long bytes = totalBytes.sum();
+
+        List<PostStatsRes.Bucket> histogram = new ArrayList<>(buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            histogram.add(new PostStatsRes.Bucket(i < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[i] : null, buckets[i].sum()));
+        }
+
+        return PostStatsRes.builder()
+                .ready(ready)
+                .count(total)
+                .totalContentBytes(bytes)
+                .averageContentBytes(total == 0 ? 0 : (double) bytes / total)
+                .histogram(histogram).build();
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                created(event.getId(), PostContentConverter.utf8Length(event.getPost().getContent()));
+                break;
+            case UPDATED:
+                updated(event.getId(), event.getPost().getVersion(), event.getPreviousContentBytes(),
+                        PostContentConverter.utf8Length(event.getPost().getContent()));
+                break;
+            case DELETED:
+                deleted(event.getId(), event.getPreviousContentBytes());
+                break;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostsCreated(PostsCreatedEvent event) {
+        List<Long> ids = event.getIds();
+        for (int i = 0; i < ids.size(); i++) {
+            created(ids.get(i), event.getContentBytes()[i]);
+        }
+    }
+
+    // content 를 String 으로 읽지 않고 저장 형식의 header 에서 원본 길이만 읽음
+    // shard 를 사용하면 shard 를 하나씩 차례로 집계
+    // 이벤트와 맞춰봐야 하므로 replica (늦을 수 있음) 가 아니라 primary 에서 읽음 (readOnly 를 붙이지 않음)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            changesWhileRebuilding = new ConcurrentHashMap<>();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        Scan scan = new Scan();
+        try {
+            postShards.forEachShard(() -> postRepository.readContentLengths(scan::add));
+        } catch (RuntimeException | Error e) {
+            finish(null);
+            throw e;
+        }
+        finish(scan);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 읽은 값으로 카운터를 바꾸고, 모아 둔 이벤트 중 읽은 값에 포함되지 않은 것만 반영 (scan 이 null 이면 rebuild 실패 - 모두 기존 카운터에 반영)
+    private void finish(Scan scan) {
+        rebuildLock.writeLock().lock();
+        try {
+            Map<Long, List<Change>> changes = changesWhileRebuilding;
+            changesWhileRebuilding = null;
+            if (scan == null) {
+                changes.values().forEach(list -> list.forEach(this::applyNow));
+                return;
+            }
+
+            count.reset();
+            totalBytes.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.add(scan.count);
+            totalBytes.add(scan.totalBytes);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i].add(scan.buckets[i]);
+            }
+
+            Map<Long, Long> versions = scan.versionsOf(changes.keySet());
+            for (Map.Entry<Long, List<Change>> entry : changes.entrySet()) {
+                Long scannedVersion = versions.get(entry.getKey());
+                boolean createdAfterScan = scannedVersion == null
+                        && entry.getValue().stream().anyMatch(change -> change.type == PostChangedEvent.Type.CREATED);
+                for (Change change : entry.getValue()) {
+                    if (scannedVersion == null ? createdAfterScan : change.isAfter(scannedVersion)) {
+                        applyNow(change);
+                    }
+                }
+            }
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Long id, Change change) {
+        rebuildLock.readLock().lock();
+        try {
+            if (changesWhileRebuilding != null) {
+                changesWhileRebuilding.computeIfAbsent(id, key -> Collections.synchronizedList(new ArrayList<>())).add(change);
+                return;
+            }
+            applyNow(change);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void applyNow(Change change) {
+        if (change.type == PostChangedEvent.Type.CREATED) {
+            count.increment();
+        } else if (change.type == PostChangedEvent.Type.DELETED) {
+            count.decrement();
+        }
+        if (change.previousBytes >= 0) {
+            totalBytes.add(-change.previousBytes);
+            buckets[bucketOf(change.previousBytes)].decrement();
+        }
+        if (change.bytes >= 0) {
+            totalBytes.add(change.bytes);
+            buckets[bucketOf(change.bytes)].increment();
+        }
+    }
+
+    private static int bucketOf(long contentBytes) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (contentBytes <= BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    private static LongAdder[] newBuckets() {
+        LongAdder[] adders = new LongAdder[BUCKET_BOUNDS.length + 1];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // 집계에 반영할 변경 하나 (크기가 -1 이면 해당 없음)
+    private static final class Change {
+
+        private final PostChangedEvent.Type type;
+
+        private final long version; // UPDATED 의 수정 후 버전
+
+        private final int previousBytes;
+
+        private final int bytes;
+
+        private Change(PostChangedEvent.Type type, long version, int previousBytes, int bytes) {
+            this.type = type;
+            this.version = version;
+            this.previousBytes = previousBytes;
+            this.bytes = bytes;
+        }
+
+        // rebuild 가 scannedVersion 으로 읽은 행에 이 변경이 포함되어 있지 않으면 true
+        private boolean isAfter(long scannedVersion) {
+            switch (type) {
+                case CREATED:
+                    return false;
+                case UPDATED:
+                    return version > scannedVersion;
+                default:
+                    return true; // 읽을 때 있던 행의 삭제
+            }
+        }
+    }
+
+    // rebuild 가 읽은 값 : 합계와 (id, 버전) - 버전은 rebuild 동안만 primitive 배열로 유지 (이벤트가 들어온 게시글만 골라서 맞춰봄)
+    // 읽을 때 없던 게시글은 이후에 생성되었거나 (CREATED 이벤트가 있음 - 모두 반영) 이미 삭제된 것 (모두 반영하지 않음)
+    private static final class Scan {
+
+        private long count;
+
+        private long totalBytes;
+
+        private final long[] buckets = new long[BUCKET_BOUNDS.length + 1];
+
+        private long[] ids = new long[1024];
+
+        private long[] versions = new long[1024];
+
+        private void add(long id, long version, long length) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                versions = Arrays.copyOf(versions, versions.length * 2);
+            }
+            ids[(int) count] = id;
+            versions[(int) count] = version;
+            count++;
+            totalBytes += length;
+            buckets[bucketOf(length)]++;
+        }
+
+        private Map<Long, Long> versionsOf(Set<Long> targets) {
+            Map<Long, Long> found = new HashMap<>();
+            if (targets.isEmpty()) {
+                return found;
+            }
+            for (int i = 0; i < count; i++) {
+                if (targets.contains(ids[i])) {
+                    found.put(ids[i], versions[i]);
+                }
+            }
+            return found;
+        }
+    }
+}
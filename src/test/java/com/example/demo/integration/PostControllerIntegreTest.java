@@ -3,64 +3,42 @@ package com.example.demo.integration;
 import com.example.demo.domain.Post;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.dto.post.WritePostReq;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
-import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.test.web.servlet.ResultActions;
-import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.reactive.server.WebTestClient;
 
-import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
-
-// 통합 테스트(모든 Bean 들을 똑같이 IoC에 올리고 테스트 하는 것)
-/**
- * 통합 테스트 하는 법
- * 단점 : 모든 빈이 다 로드되기 때문에 통합 테스트가 가능하지만 느림!!
- * 장점 : 실제 서비스와 가장 유사하게 테스트 가능.
- * 팁 : SpringBootTest(class= {PostController.class, PostService.class, PostRepository.class}) 이렇게 필요한 빈만 올릴 수 도 있음.
- */
-@Transactional // 각각의 테스트 함수가 종료될 때마다 Transaction 을 rollback 해줌 - 각각의 메서드의 독립적인 테스트를 보장
-// 데이터는 삭제되지만, autoincrement 로 설정한 숫자 정책은 초기화 되지 않음
-@AutoConfigureMockMvc // mock 을 메모리에 띄워 줌 (IoC에 등록해줌)
-@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
-/** WebEnvironment
- * WebEnvironment.MOCK (default)= 실제 톰켓으로 올리는 것이 아니라. 다른 톰캣으로 테스트 - 모의 웹 환경을 제공
- * WebEnvironment.RANDOM_PORT = 실제 톰켓으로 테스트 - 실제 웹 환경 제공
- */
-// -> @ExtendWith(SpringExtension.class) - 스프링 환경 확장시 사용하는 애노테이션 - Spring 에서 JUnit5 에서 테스트 할때 필수
-// @RunWith(SpringRunner.class) - Junit4 에서 테스트 할때 필수
-public class PostControllerIntegreTest {
 
-    @Autowired
-    private MockMvc mockMvc;
+// /post API 통합 테스트 - servlet 스택과 reactive 스택에서 같은 테스트를 실행
+// - PostControllerMvcIntegreTest      : PostController (MockMvc 위의 WebTestClient)
+// - PostControllerReactiveIntegreTest : ReactivePostController (reactive 프로필, 실제 Netty 서버)
+// 게시글 준비와 개수 확인은 두 스택이 같은 테이블을 쓰므로 JPA PostRepository 로 함
+public abstract class PostControllerIntegreTest {
 
     @Autowired
-    private PostRepository postRepository;
+    protected PostRepository postRepository;
 
-    @Autowired
-    private EntityManager entityManager;
-
-    @BeforeEach // 모든 테스트 이전에 실행 됨
-    public void init() {
-        // 테이블 autoincrement 초기화
-        // H2
-        entityManager.createNativeQuery("ALTER TABLE post ALTER COLUMN id RESTART WITH 1").executeUpdate();
-        // MySQL - entityManager.createNativeQuery("ALTER TABLE post AUTO_INCREMENT =1").executeUpdate();
+    // Post.id 는 시퀀스(pooled) 전략이라 Hibernate 가 id 블록을 메모리에 들고 있음
+    // -> 테스트마다 id 를 1로 초기화할 수 없으므로, 저장된 엔티티의 id 를 기준으로 검증한다.
+
+    // 테스트 대상 스택에 연결된 client
+    protected abstract WebTestClient client();
+
+    // 두 스택 모두 테스트 트랜잭션으로 rollback 하지 않으므로 테스트마다 직접 비움
+    // (reactive 스택의 요청은 서버(event loop)에서 R2DBC 커넥션으로 실행됨)
+    @AfterEach
+    public void tearDown() {
+        postRepository.deleteAllInBatch();
     }
 
     @Test // 테스트 명시
@@ -70,25 +48,52 @@ public class PostControllerIntegreTest {
                 .title("스프링부트 따라하기")
                 .content("스프링부트 따라하기 내용")
                 .build();
-        // Object 를 JSON 으로 변경해주는 함수
-        String content = new ObjectMapper().writeValueAsString(writePostReq);
 
         // 실제 postService 가 Bean 으로 등록 되어 있기 때문에, stub 이 필요 없음
 
         // when (테스트 실행)
-        ResultActions resultAction = mockMvc.perform(post("/post")
+        WebTestClient.ResponseSpec response = client().post().uri("/post")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(content)
-                .accept(MediaType.APPLICATION_JSON));
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(writePostReq) // Object 를 JSON 으로 변경해서 전송
+                .exchange();
 
         // then (검증)
-        resultAction
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.id").value(1L))
-                .andExpect(jsonPath("$.title").value("스프링부트 따라하기")) // jsonPath : json 에서 변수로 결과 받아옴
-                .andExpect(jsonPath("$.content").value("스프링부트 따라하기 내용")) // $ 는 전체를 뜻함, . 은 구분자
-                .andDo(MockMvcResultHandlers.print()); // 결과 출력
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.title").isEqualTo("스프링부트 따라하기") // jsonPath : json 에서 변수로 결과 받아옴
+                .jsonPath("$.content").isEqualTo("스프링부트 따라하기 내용") // $ 는 전체를 뜻함, . 은 구분자
+                .consumeWith(System.out::println); // 결과 출력
+
+    }
+
+    @Test
+    public void saveAll_테스트() throws Exception {
+        // given
+        List<WritePostReq> writePostReqs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            writePostReqs.add(WritePostReq.builder()
+                    .title("게시글 " + i)
+                    .content("게시글 내용 " + i)
+                    .build());
+        }
+
+        // when
+        WebTestClient.ResponseSpec response = client().post().uri("/post/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(writePostReqs)
+                .exchange();
+
+        // then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(3)
+                .jsonPath("$.ids").value(Matchers.hasSize(3))
+                .consumeWith(System.out::println);
 
+        assertEquals(3, postRepository.count());
     }
 
     @Test
@@ -102,16 +107,72 @@ public class PostControllerIntegreTest {
         postRepository.saveAll(postList);
 
         // when
-        ResultActions resultActions = mockMvc.perform(get("/post")
-                .accept(MediaType.APPLICATION_JSON));
+        WebTestClient.ResponseSpec response = client().get().uri("/post?all=true")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
 
         // then
-        resultActions
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", Matchers.hasSize(2)))
-                .andExpect(jsonPath("$.[0].id").value(1L))
-                .andExpect(jsonPath("$.[0].title").value("스프링부트 따라하기")) // is 방법도 있지만 이는 harmcest 의 함수 여서 섞어 쓰면 헷갈림
-                .andDo(MockMvcResultHandlers.print());
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$").value(Matchers.hasSize(2))
+                .jsonPath("$.[0].id").isEqualTo(postList.get(0).getId())
+                .jsonPath("$.[0].title").isEqualTo("스프링부트 따라하기") // is 방법도 있지만 이는 harmcest 의 함수 여서 섞어 쓰면 헷갈림
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    public void findPage_테스트() throws Exception{
+        // given
+        // data 생성
+        List<Post> postList = new ArrayList<>();
+        postList.add(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        postList.add(new Post(null, "리액트 따라하기", "리액트 따라하기 내용"));
+        postList.add(new Post(null, "뷰 따라하기", "뷰 따라하기 내용"));
+
+        postRepository.saveAll(postList);
+
+        // when - 첫 페이지
+        byte[] firstPage = client().get().uri("/post?limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.posts").value(Matchers.hasSize(2))
+                .jsonPath("$.posts.[0].title").isEqualTo("스프링부트 따라하기")
+                .jsonPath("$.nextCursor").isNotEmpty()
+                .consumeWith(System.out::println)
+                .returnResult()
+                .getResponseBody();
+
+        String nextCursor = JsonPath.read(new String(firstPage, StandardCharsets.UTF_8), "$.nextCursor");
+
+        // then - 다음 페이지는 커서 이후부터 시작하고, 마지막 페이지라 nextCursor 가 없음
+        client().get().uri(uri -> uri.path("/post")
+                        .queryParam("after", nextCursor)
+                        .queryParam("limit", 2)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.posts").value(Matchers.hasSize(1))
+                .jsonPath("$.posts.[0].title").isEqualTo("뷰 따라하기")
+                .jsonPath("$.nextCursor").doesNotExist()
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    public void findPage_잘못된커서_테스트() throws Exception {
+        // when
+        WebTestClient.ResponseSpec response = client().get().uri("/post?after=not-a-cursor")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then
+        response.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("Bad Request")
+                .consumeWith(System.out::println);
     }
 
     @Test
@@ -124,36 +185,82 @@ public class PostControllerIntegreTest {
 
         postRepository.saveAll(postList);
 
-        Long id = 1L;
+        Long id = postList.get(0).getId();
 
 
         // when
-        ResultActions resultAction = mockMvc.perform(get("/post/{id}", id)
-                .accept(MediaType.APPLICATION_JSON));
+        WebTestClient.ResponseSpec response = client().get().uri("/post/{id}", id)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
 
         // then
-        resultAction
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("스프링부트 따라하기"))
-                .andDo(MockMvcResultHandlers.print());
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("스프링부트 따라하기")
+                .consumeWith(System.out::println);
 
     }
 
     @Test
-    public void findById_fail_테스트() throws Exception {
+    public void findById_조건부요청_테스트() throws Exception{
         // given
-        Long id = 1L;
+        Post post = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+
+        String eTag = client().get().uri("/post/{id}", post.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        // when - 받은 ETag 로 다시 요청
+        WebTestClient.ResponseSpec response = client().get().uri("/post/{id}", post.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange();
+
+        // then - 변경이 없으므로 304
+        response.expectStatus().isNotModified()
+                .expectBody()
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    public void findById_fail_테스트() throws Exception {
+        // given - 시퀀스가 발급하지 않는 id (다른 테스트에서 저장 후 rollback 된 id 가 캐시에 남아있을 수 있으므로)
+        Long id = 0L;
 
         // when
-        ResultActions resultAction = mockMvc.perform(get("/post/{id}", id)
-                .accept(MediaType.APPLICATION_JSON));
+        WebTestClient.ResponseSpec response = client().get().uri("/post/{id}", id)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        // then
+        response.expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("Item Not Found")
+                .jsonPath("$.message").isEqualTo("id를 확인해주세요!!")
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    public void findContent_range_테스트() throws Exception {
+        // given - 압축해서 저장되는 길이 (post.content.compression.min-size 이상)
+        String content = "스프링부트 따라하기 내용 ".repeat(200);
+        Post post = postRepository.save(new Post(null, "스프링부트 따라하기", content));
+        int length = content.getBytes(StandardCharsets.UTF_8).length;
+
+        // when - 앞 15 byte (한글 5글자) 만 요청
+        WebTestClient.ResponseSpec response = client().get().uri("/post/{id}/content", post.getId())
+                .header(HttpHeaders.RANGE, "bytes=0-14")
+                .exchange();
 
         // then
-        resultAction
-                .andExpect(status().is4xxClientError())
-                .andExpect(jsonPath("$.code").value("Item Not Found"))
-                .andExpect(jsonPath("$.message").value("id를 확인해주세요!!"))
-                .andDo(MockMvcResultHandlers.print());
+        String result = response.expectStatus().isEqualTo(HttpStatus.PARTIAL_CONTENT)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 0-14/" + length)
+                .expectHeader().contentLength(15)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals("스프링부트", result);
     }
 
     @Test
@@ -166,24 +273,24 @@ public class PostControllerIntegreTest {
 
         postRepository.saveAll(postList);
 
-        Long id = 1L;
+        Long id = postList.get(0).getId();
         WritePostReq writePostReq = WritePostReq.builder()
                 .title("스프링부트 또 따라하기")
                 .content("스프링부트 또 따라하기 내용")
                 .build();
-        String content = new ObjectMapper().writeValueAsString(writePostReq);
 
         // when
-        ResultActions resultActions = mockMvc.perform(put("/post/{id}", id)
+        WebTestClient.ResponseSpec response = client().put().uri("/post/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(content)
-                .accept(MediaType.APPLICATION_JSON));
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(writePostReq)
+                .exchange();
 
         // then
-        resultActions
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("스프링부트 또 따라하기"))
-                .andDo(MockMvcResultHandlers.print());
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("스프링부트 또 따라하기")
+                .consumeWith(System.out::println);
     }
 
     @Test
@@ -196,16 +303,17 @@ public class PostControllerIntegreTest {
 
         postRepository.saveAll(postList);
 
-        Long id = 1L;
+        Long id = postList.get(0).getId();
 
         // when
-        ResultActions resultAction = mockMvc.perform(delete("/post/{id}", id));
+        WebTestClient.ResponseSpec response = client().delete().uri("/post/{id}", id)
+                .exchange();
 
         // then
-        resultAction.andExpect(status().isOk()).andDo(MockMvcResultHandlers.print());
-
-        MvcResult requestResult = resultAction.andReturn();
-        String result = requestResult.getResponse().getContentAsString();
+        String result = response.expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
         assertEquals("ok", result);
     }
 }
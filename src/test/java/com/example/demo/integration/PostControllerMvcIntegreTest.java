@@ -0,0 +1,46 @@
+package com.example.demo.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+// 통합 테스트(모든 Bean 들을 똑같이 IoC에 올리고 테스트 하는 것) - servlet 스택 (PostController)
+/**
+ * 통합 테스트 하는 법
+ * 단점 : 모든 빈이 다 로드되기 때문에 통합 테스트가 가능하지만 느림!!
+ * 장점 : 실제 서비스와 가장 유사하게 테스트 가능.
+ * 팁 : SpringBootTest(class= {PostController.class, PostService.class, PostRepository.class}) 이렇게 필요한 빈만 올릴 수 도 있음.
+ */
+// 테스트 메서드는 PostControllerIntegreTest 에 선언되어 있어 이 클래스에 @Transactional 을 붙여도 rollback 되지 않음 -> 테스트마다 직접 비움
+@AutoConfigureMockMvc // mock 을 메모리에 띄워 줌 (IoC에 등록해줌)
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+/** WebEnvironment
+ * WebEnvironment.MOCK (default)= 실제 톰켓으로 올리는 것이 아니라. 다른 톰캣으로 테스트 - 모의 웹 환경을 제공
+ * WebEnvironment.RANDOM_PORT = 실제 톰켓으로 테스트 - 실제 웹 환경 제공
+ */
+// -> @ExtendWith(SpringExtension.class) - 스프링 환경 확장시 사용하는 애노테이션 - Spring 에서 JUnit5 에서 테스트 할때 필수
+// @RunWith(SpringRunner.class) - Junit4 에서 테스트 할때 필수
+public class PostControllerMvcIntegreTest extends PostControllerIntegreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private WebTestClient client;
+
+    // MockMvc 로 요청을 실행하는 WebTestClient (테스트 스레드에서 실행)
+    // PostExecutors 로 실행하는 endpoint 는 DeferredResult 를 반환하는데, 비동기 처리 결과까지 dispatch 해서 응답을 만들어 줌
+    @BeforeEach
+    public void setUp() {
+        client = MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected WebTestClient client() {
+        return client;
+    }
+}
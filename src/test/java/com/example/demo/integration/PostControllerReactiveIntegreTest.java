@@ -0,0 +1,27 @@
+package com.example.demo.integration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// 통합 테스트 - reactive 스택 (ReactivePostController + R2DBC)
+// web-application-type 은 테스트 컨텍스트를 만들 때 정해지므로 프로필 파일이 아니라 properties 로 지정
+// 다른 통합 테스트 컨텍스트와 같은 in-memory DB 를 쓰지 않도록 DB 이름을 따로 지정
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactivetest",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivetest"
+})
+public class PostControllerReactiveIntegreTest extends PostControllerIntegreTest {
+
+    @Autowired
+    private WebTestClient webTestClient; // RANDOM_PORT 로 띄운 서버에 연결됨
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.integration;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.event.PostChangeFeed;
+import com.example.demo.service.PostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// 통합 테스트 - GET /post/events (SSE)
+// 이벤트는 commit 이후에 발행되므로 @Transactional 없이 실행하고, 만든 게시글은 직접 삭제
+@AutoConfigureMockMvc
+@SpringBootTest
+public class PostEventsIntegreTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    public void 변경이벤트_구독_테스트() throws Exception {
+        // given
+        MockHttpServletResponse stream = subscribe(null);
+
+        // when
+        Post post = postService.저장하기(writePostReq("스프링부트 따라하기"));
+        postService.수정하기(post.getId(), writePostReq("스프링부트 또 따라하기"), null);
+        postService.삭제하기(post.getId(), null);
+
+        // then - commit 된 순서대로 created, updated, deleted
+        awaitContains(stream, "event:deleted");
+        String body = stream.getContentAsString(StandardCharsets.UTF_8);
+        int created = body.indexOf("event:created");
+        int updated = body.indexOf("event:updated");
+        int deleted = body.indexOf("event:deleted");
+        assertTrue(created >= 0 && created < updated && updated < deleted);
+        assertTrue(body.contains("\"id\":" + post.getId()));
+        assertTrue(body.contains("\"title\":\"스프링부트 또 따라하기\""));
+    }
+
+    @Test
+    public void LastEventId_이어받기_테스트() throws Exception {
+        // given - 첫번째 게시글의 이벤트 id 를 받은 뒤 연결이 끊긴 클라이언트
+        MockHttpServletResponse first = subscribe(null);
+        Post missed = postService.저장하기(writePostReq("받은 게시글"));
+        awaitContains(first, "\"id\":" + missed.getId());
+        String lastEventId = lastEventId(first.getContentAsString(StandardCharsets.UTF_8));
+
+        Post post = postService.저장하기(writePostReq("놓친 게시글"));
+
+        // when - Last-Event-ID 로 다시 연결
+        MockHttpServletResponse resumed = subscribe(lastEventId);
+
+        // then - 놓친 이벤트만 다시 받음
+        awaitContains(resumed, "\"id\":" + post.getId());
+        assertFalse(resumed.getContentAsString(StandardCharsets.UTF_8).contains("\"id\":" + missed.getId() + ","));
+
+        postService.삭제하기(missed.getId(), null);
+        postService.삭제하기(post.getId(), null);
+    }
+
+    @Test
+    public void 여러건저장_이벤트_테스트() throws Exception {
+        // given
+        MockHttpServletResponse stream = subscribe(null);
+
+        // when
+        BatchWriteRes result = postService.여러건저장하기(List.of(writePostReq("게시글 1"), writePostReq("게시글 2"), writePostReq("게시글 3")));
+
+        // then - 게시글마다가 아니라 id 목록이 담긴 이벤트 하나
+        awaitContains(stream, "event:" + PostChangeFeed.BATCH_CREATED_EVENT);
+        String body = stream.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"ids\":[" + result.getIds().stream().map(String::valueOf).collect(Collectors.joining(",")) + "]"));
+        assertFalse(body.contains("event:created"));
+
+        result.getIds().forEach(id -> postService.삭제하기(id, null));
+    }
+
+    @Test
+    public void reset_테스트() throws Exception {
+        // when - 서버 재시작 전(다른 epoch)의 이벤트 id, epoch 가 없는 id 로 연결
+        MockHttpServletResponse restarted = subscribe("0-1");
+        MockHttpServletResponse legacy = subscribe("1");
+
+        // then - 이어받을 수 없으므로 목록을 다시 조회하라는 이벤트
+        awaitContains(restarted, "event:" + PostChangeFeed.RESET_EVENT);
+        awaitContains(legacy, "event:" + PostChangeFeed.RESET_EVENT);
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(lastEventId == null
+                        ? get("/post/events")
+                        : get("/post/events").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private static void awaitContains(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!stream.getContentAsString(StandardCharsets.UTF_8).contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("'" + expected + "' 이벤트를 받지 못했습니다 : " + stream.getContentAsString(StandardCharsets.UTF_8));
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static String lastEventId(String body) {
+        Matcher matcher = Pattern.compile("^id:(\\w+-\\d+)$", Pattern.MULTILINE).matcher(body);
+        String id = null;
+        while (matcher.find()) {
+            id = matcher.group(1);
+        }
+        return id;
+    }
+
+    private static WritePostReq writePostReq(String title) {
+        return WritePostReq.builder()
+                .title(title)
+                .content(title + " 내용")
+                .build();
+    }
+}
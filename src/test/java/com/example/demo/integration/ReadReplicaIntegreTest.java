@@ -0,0 +1,148 @@
+package com.example.demo.integration;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.replication.ReadConsistency;
+import com.example.demo.replication.Replica;
+import com.example.demo.replication.ReplicationLog;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 통합 테스트 - primary 1개, replica 2개 (모두 H2 in-memory DB) 로 읽기/쓰기 분리
+// 트랜잭션을 테스트 메서드에 걸면 모든 조회가 쓰기 트랜잭션에 참여하므로 @Transactional 없이 실행하고 직접 정리함
+// replica 는 commit 후 500ms 뒤에 적용 (max-lag 1s 보다 짧아서 늦은 replica 도 읽기에 사용됨)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "post.datasource.routing.enabled=true",
+        "post.datasource.routing.replica-urls=jdbc:h2:mem:replicatest1,jdbc:h2:mem:replicatest2",
+        "post.datasource.routing.replication-delay=500ms",
+        "post.datasource.routing.read-your-writes=true",
+        "spring.datasource.url=jdbc:h2:mem:primarytest"
+})
+public class ReadReplicaIntegreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ReplicationLog replicationLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        postRepository.deleteAllInBatch();
+        ReadConsistency.clear();
+        replicationLog.awaitCaughtUp(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void 쓰기복제_테스트() throws Exception {
+        // when - primary 에 저장
+        Post post = postService.저장하기(WritePostReq.builder()
+                .title("스프링부트 따라하기")
+                .content("스프링부트 따라하기 내용")
+                .build());
+
+        // then - 모든 replica 에 복제됨
+        assertTrue(replicationLog.awaitCaughtUp(Duration.ofSeconds(5)));
+        for (Replica replica : replicationLog.getReplicas()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+            assertEquals("스프링부트 따라하기", jdbcTemplate.queryForObject("select title from Post where id = ?", String.class, post.getId()));
+        }
+
+        // then - readOnly 조회 (replica) 에서도 보임
+        List<Post> posts = postService.모두가져오기();
+        assertEquals(1, posts.size());
+        assertEquals(post.getId(), posts.get(0).getId());
+    }
+
+    @Test
+    public void readOnly_라우팅_테스트() throws Exception {
+        // given
+        assertTrue(replicationLog.awaitCaughtUp(Duration.ofSeconds(5)));
+
+        // when & then - readOnly 트랜잭션은 replica, 쓰기 트랜잭션은 primary
+        assertTrue(database(true).startsWith("replicatest"));
+        assertEquals("primarytest", database(false));
+    }
+
+    @Test
+    public void readYourWrites_테스트() {
+        // given - 아직 어느 replica 도 적용하지 않은 위치를 요구
+        ReadConsistency.require(replicationLog.committedPosition() + 1);
+
+        // when & then - readOnly 트랜잭션이지만 primary 에서 읽음
+        assertEquals("primarytest", database(true));
+    }
+
+    @Test
+    public void 삭제후_조회_readYourWrites_테스트() throws Exception {
+        // given
+        Post post = postService.저장하기(WritePostReq.builder()
+                .title("스프링부트 따라하기")
+                .content("스프링부트 따라하기 내용")
+                .build());
+        assertTrue(replicationLog.awaitCaughtUp(Duration.ofSeconds(5)));
+
+        // when - 삭제 응답에 commit 위치가 담김
+        MvcResult deleting = mockMvc.perform(delete("/post/{id}", post.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String position = mockMvc.perform(asyncDispatch(deleting))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ReadConsistency.HEADER);
+        assertNotNull(position);
+
+        // then - 그 위치를 넣은 목록 조회는 아직 삭제를 적용하지 않은 replica 가 아닌 DB 에서 읽음
+        MvcResult listing = mockMvc.perform(get("/post").param("all", "true").header(ReadConsistency.HEADER, position))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(listing))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    // 트랜잭션이 연결된 DB 이름
+    private String database(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        String database = transactionTemplate.execute(status -> (String) entityManager.createNativeQuery("select database()").getSingleResult());
+        return database.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.integration;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.service.PostService;
+import com.example.demo.shard.PostShards;
+import com.example.demo.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 통합 테스트 - shard 3개 (모두 H2 in-memory DB) 에 게시글을 나누어 저장하고 조회
+// 각 shard 에 직접 JDBC 로 접근해서 게시글이 id 가 속한 shard 에만 저장되었는지 확인
+// 테스트 메서드에 트랜잭션을 걸면 모든 작업이 shard 0 의 트랜잭션에 참여하므로 @Transactional 없이 실행하고 직접 정리함
+@SpringBootTest(properties = {
+        "post.sharding.enabled=true",
+        "post.sharding.shard-urls=jdbc:h2:mem:shardtest1,jdbc:h2:mem:shardtest2",
+        "spring.datasource.url=jdbc:h2:mem:shardtest0"
+})
+public class ShardingIntegreTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostShards postShards;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private List<JdbcTemplate> shards;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        shards = new ArrayList<>();
+        for (HikariDataSource shard : dataSource.unwrap(ShardRoutingDataSource.class).getShards()) {
+            shards.add(new JdbcTemplate(shard));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        shards.forEach(shard -> shard.update("delete from Post"));
+    }
+
+    @Test
+    public void 저장_shard분산_테스트() {
+        // when - 새 게시글은 shard 를 돌아가며 저장
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            posts.add(postService.저장하기(writePostReq("게시글 " + i)));
+        }
+
+        // then - 3개의 shard 에 하나씩, id 가 속한 shard 에만 저장됨
+        Set<Integer> owners = posts.stream()
+                .map(post -> postShards.shardOf(post.getId()))
+                .collect(Collectors.toSet());
+        assertEquals(3, owners.size());
+        for (Post post : posts) {
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int expected = shard == postShards.shardOf(post.getId()) ? 1 : 0;
+                assertEquals(expected, shards.get(shard).queryForObject("select count(*) from Post where id = ?", Integer.class, post.getId()));
+            }
+        }
+    }
+
+    @Test
+    public void 여러건저장_한shard_테스트() {
+        // when
+        BatchWriteRes res = postService.여러건저장하기(List.of(writePostReq("게시글 1"), writePostReq("게시글 2"), writePostReq("게시글 3")));
+
+        // then - 한 요청의 게시글은 모두 같은 shard (한 트랜잭션)
+        Set<Integer> owners = res.getIds().stream()
+                .map(postShards::shardOf)
+                .collect(Collectors.toSet());
+        assertEquals(1, owners.size());
+        assertEquals(3, shards.get(owners.iterator().next()).queryForObject("select count(*) from Post", Integer.class));
+    }
+
+    @Test
+    public void 페이지_scatterGather_테스트() {
+        // given - 6건이 여러 shard 에 나뉘어 저장됨
+        Set<Long> saved = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            saved.add(postService.저장하기(writePostReq("게시글 " + i)).getId());
+        }
+
+        // when
+        PostPageRes<Post> first = postService.페이지가져오기(null, 4);
+        PostPageRes<Post> second = postService.페이지가져오기(first.getNextCursor(), 4);
+
+        // then - 모든 shard 의 게시글을 id 순서로 이어서 조회
+        List<Long> ids = new ArrayList<>();
+        first.getPosts().forEach(post -> ids.add(post.getId()));
+        second.getPosts().forEach(post -> ids.add(post.getId()));
+        assertEquals(4, first.getPosts().size());
+        assertEquals(2, second.getPosts().size());
+        assertNull(second.getNextCursor());
+        assertEquals(saved, new HashSet<>(ids));
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    public void 단건_수정_삭제_테스트() {
+        // given
+        Post post = postService.저장하기(writePostReq("스프링부트 따라하기"));
+        JdbcTemplate owner = shards.get(postShards.shardOf(post.getId()));
+
+        // when & then - 단건 작업은 id 가 속한 shard 에서 실행
+        postService.수정하기(post.getId(), writePostReq("스프링부트 또 따라하기"), null);
+        assertEquals("스프링부트 또 따라하기", owner.queryForObject("select title from Post where id = ?", String.class, post.getId()));
+        assertEquals("스프링부트 또 따라하기", postService.한건가져오기(post.getId()).getTitle());
+
+        assertEquals("ok", postService.삭제하기(post.getId(), null));
+        assertTrue(owner.queryForList("select id from Post where id = ?", Long.class, post.getId()).isEmpty());
+    }
+
+    private static WritePostReq writePostReq(String title) {
+        return WritePostReq.builder()
+                .title(title)
+                .content(title + " 내용")
+                .build();
+    }
+}
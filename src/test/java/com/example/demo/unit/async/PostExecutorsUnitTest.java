@@ -0,0 +1,177 @@
+package com.example.demo.unit.async;
+
+import com.example.demo.async.PostExecutors;
+import com.example.demo.async.PostTask;
+import com.example.demo.exception.PostNotFoundException;
+import com.example.demo.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 단위 테스트 (PostExecutors) - pool 분리, 포화 시 즉시 거절, 대기열 시간 초과, 예외 전달 확인
+public class PostExecutorsUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PostExecutors postExecutors;
+
+    @AfterEach
+    public void tearDown() {
+        if (postExecutors != null) {
+            postExecutors.shutdown();
+        }
+    }
+
+    @Test
+    public void pool_가득참_즉시거절_테스트() throws InterruptedException {
+        // given - list pool 은 스레드 1개, 대기열 1칸
+        postExecutors = executors(true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        PostTask<String> running = postExecutors.submit(PostExecutors.Pool.LIST, () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        PostTask<String> queued = postExecutors.submit(PostExecutors.Pool.LIST, () -> "queued");
+
+        // when - 대기열까지 가득 찬 상태
+        PostTask<String> rejected = postExecutors.submit(PostExecutors.Pool.LIST, () -> "rejected");
+
+        // then - 기다리지 않고 바로 503 용 예외로 완료
+        assertTrue(rejected.hasResult());
+        assertInstanceOf(ServiceBusyException.class, rejected.getResult());
+        CompletionException exception = assertThrows(CompletionException.class, () -> join(rejected));
+        assertInstanceOf(ServiceBusyException.class, exception.getCause());
+        assertEquals(1.0, registry.get("post.executor.rejected").tag("pool", "list").counter().count());
+
+        // then - 다른 pool (단건 조회) 은 영향 없음
+        assertEquals("point", join(postExecutors.submit(PostExecutors.Pool.POINT, () -> "point")));
+
+        release.countDown();
+        assertEquals("running", join(running));
+        assertEquals("queued", join(queued));
+    }
+
+    @Test
+    public void 작업예외_전달_테스트() {
+        // given
+        postExecutors = executors(true);
+
+        // when
+        PostTask<Object> future = postExecutors.submit(PostExecutors.Pool.POINT, () -> {
+            throw PostNotFoundException.INSTANCE;
+        });
+
+        // then - GlobalExceptionHandler 가 처리할 수 있도록 원래 예외를 그대로 전달
+        CompletionException exception = assertThrows(CompletionException.class, () -> join(future));
+        assertEquals(PostNotFoundException.INSTANCE, exception.getCause());
+    }
+
+    @Test
+    public void 비활성화_요청스레드실행_테스트() {
+        // given
+        postExecutors = executors(false);
+        Thread caller = Thread.currentThread();
+
+        // when
+        PostTask<Thread> future = postExecutors.submit(PostExecutors.Pool.WRITE, Thread::currentThread);
+
+        // then - 결과가 이미 정해진 DeferredResult
+        assertTrue(future.hasResult());
+        assertEquals(caller, join(future));
+    }
+
+    @Test
+    public void 대기열_시간초과_실행안함_테스트() throws InterruptedException {
+        // given - list pool 의 스레드 1개가 작업 중
+        postExecutors = executors(true, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PostTask<String> running = postExecutors.submit(PostExecutors.Pool.LIST, () -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // when - 대기열에서 timeout 이 지남
+        PostTask<String> queued = postExecutors.submit(PostExecutors.Pool.LIST, () -> {
+            executed.set(true);
+            return "queued";
+        });
+        CompletionException exception = assertThrows(CompletionException.class, () -> join(queued));
+
+        // then - 503 용 예외로 완료되고, 스레드가 비어도 실행하지 않음
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        release.countDown();
+        assertEquals("running", join(running));
+        assertEquals("next", join(postExecutors.submit(PostExecutors.Pool.LIST, () -> "next"))); // 대기열의 작업이 꺼내진 뒤
+        assertFalse(executed.get());
+    }
+
+    @Test
+    public void 실행중_작업_시간초과없음_테스트() {
+        // given
+        postExecutors = executors(true, Duration.ofMillis(50));
+
+        // when - timeout 보다 오래 걸리는 작업 (이미 시작한 작업)
+        PostTask<String> future = postExecutors.submit(PostExecutors.Pool.WRITE, () -> {
+            sleep(300);
+            return "written";
+        });
+
+        // then - 끝까지 실행하고 결과를 반환
+        assertEquals("written", join(future));
+    }
+
+    private PostExecutors executors(boolean enabled) {
+        return executors(enabled, Duration.ofSeconds(10));
+    }
+
+    private PostExecutors executors(boolean enabled, Duration timeout) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", registry);
+        return new PostExecutors(beanFactory.getBeanProvider(MeterRegistry.class), enabled, timeout,
+                1, 1, 1, 1, 1, 1);
+    }
+
+    // 작업이 끝날 때까지 기다림 (실패로 끝나면 CompletionException)
+    private static <T> T join(PostTask<T> task) {
+        return task.completion().toCompletableFuture().join();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
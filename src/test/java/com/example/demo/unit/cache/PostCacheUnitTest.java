@@ -0,0 +1,82 @@
+package com.example.demo.unit.cache;
+
+import com.example.demo.cache.PostCache;
+import com.example.demo.domain.Post;
+import com.example.demo.event.PostChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 단위 테스트 (Cache) - 스프링 없이 캐시 객체만 생성해서 테스트
+public class PostCacheUnitTest {
+
+    private final PostCache postCache = new PostCache(1_000_000L, Duration.ofMinutes(10), Duration.ofSeconds(2));
+
+    @Test
+    public void read_through_테스트() {
+        // given
+        AtomicInteger loadCount = new AtomicInteger();
+        Post post = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+
+        // when - 같은 id 를 두번 조회
+        postCache.get(1L, () -> {
+            loadCount.incrementAndGet();
+            return post;
+        });
+        Post cached = postCache.get(1L, () -> {
+            loadCount.incrementAndGet();
+            return post;
+        });
+
+        // then - 두번째는 캐시에서 가져옴
+        assertEquals(post, cached);
+        assertEquals(1, loadCount.get());
+        assertEquals(1, postCache.stats().getHitCount());
+        assertEquals(1, postCache.stats().getMissCount());
+    }
+
+    @Test
+    public void 수정_이벤트_무효화_테스트() {
+        // given
+        Post post = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+        postCache.get(1L, () -> post);
+
+        // when - commit 이후 전달되는 수정 이벤트
+        postCache.onPostChanged(PostChangedEvent.updated(new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"), 0));
+
+        // then - 다음 조회는 다시 loader 를 통해 최신값을 가져옴
+        Post reloaded = postCache.get(1L, () -> new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"));
+        assertEquals("스프링부트 또 따라하기", reloaded.getTitle());
+    }
+
+    @Test
+    public void 조회중_수정_commit_테스트() {
+        // when - loader 가 이전 값을 읽은 뒤, 캐시에 저장하기 전에 수정이 commit 되어 무효화가 먼저 지나감
+        Post stale = postCache.get(1L, () -> {
+            Post post = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+            postCache.onPostChanged(PostChangedEvent.updated(new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"), 0));
+            return post;
+        });
+
+        // then - 이번 요청은 읽은 값을 받지만 캐시에는 남지 않음
+        assertEquals("스프링부트 따라하기", stale.getTitle());
+        assertNull(postCache.peek(1L));
+        Post reloaded = postCache.get(1L, () -> new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"));
+        assertEquals("스프링부트 또 따라하기", reloaded.getTitle());
+    }
+
+    @Test
+    public void loader_예외시_캐시하지않음_테스트() {
+        // when & then
+        assertThrows(NoSuchElementException.class, () -> postCache.get(1L, () -> {
+            throw new NoSuchElementException("id를 확인해주세요!!");
+        }));
+        assertEquals(0, postCache.stats().getEstimatedSize());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.unit.cache;
+
+import com.example.demo.cache.PostIdFilter;
+import com.example.demo.event.PostChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 단위 테스트 (PostIdFilter) - DB 없이 bitmap 동작만 확인
+public class PostIdFilterUnitTest {
+
+    private final PostIdFilter postIdFilter = new PostIdFilter(null, null);
+
+    @Test
+    public void 준비전_테스트() {
+        // when & then - 시작 시 구성 전에는 모든 id 를 DB 로 넘김
+        assertFalse(postIdFilter.isKnownMissing(1L));
+    }
+
+    @Test
+    public void 구성_후_조회_테스트() {
+        // given
+        postIdFilter.load(Stream.of(1L, 2L, 100_000L));
+
+        // when & then
+        assertFalse(postIdFilter.isKnownMissing(1L));
+        assertFalse(postIdFilter.isKnownMissing(100_000L)); // 배열 확장
+        assertTrue(postIdFilter.isKnownMissing(3L));
+        assertTrue(postIdFilter.isKnownMissing(5_000_000L)); // 아직 발급되지 않은 id
+        assertFalse(postIdFilter.isKnownMissing(PostIdFilter.MAX_TRACKED_ID)); // 추적 범위 밖은 DB 로 넘김
+    }
+
+    @Test
+    public void 저장_삭제_반영_테스트() {
+        // given
+        postIdFilter.load(Stream.empty());
+
+        // when - 저장
+        postIdFilter.add(7L);
+
+        // then
+        assertFalse(postIdFilter.isKnownMissing(7L));
+
+        // when - 삭제 commit 이후
+        postIdFilter.onPostChanged(PostChangedEvent.deleted(7L, 0));
+
+        // then
+        assertTrue(postIdFilter.isKnownMissing(7L));
+    }
+}
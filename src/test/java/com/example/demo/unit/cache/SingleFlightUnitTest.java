@@ -0,0 +1,125 @@
+package com.example.demo.unit.cache;
+
+import com.example.demo.cache.SingleFlight;
+import com.example.demo.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 단위 테스트 (SingleFlight) - 동시에 들어온 같은 key 의 조회가 한번만 실행되는지 확인
+public class SingleFlightUnitTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void 동시조회_합치기_테스트() throws Exception {
+        // given - leader 의 조회가 끝나지 않도록 latch 로 잡아둠
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // when
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loadCount.incrementAndGet();
+                    await(release);
+                    return "스프링부트 따라하기";
+                })));
+            }
+            waitUntil(() -> singleFlight.getCoalescedCount() == THREADS - 1);
+            release.countDown();
+
+            // then - loader 는 한번만 실행되고 모든 요청이 같은 결과를 받음
+            for (Future<String> result : results) {
+                assertEquals("스프링부트 따라하기", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loadCount.get());
+            assertEquals(1, singleFlight.getLoadCount());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void 예외_전달_테스트() throws Exception {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(5_000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw new NoSuchElementException("id를 확인해주세요!!");
+            }));
+            waitUntil(() -> singleFlight.getInFlightCount() == 1);
+            Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "실행되면 안됨"));
+            waitUntil(() -> singleFlight.getCoalescedCount() == 1);
+
+            // when
+            release.countDown();
+
+            // then - 기다리던 요청도 leader 의 예외를 그대로 받음
+            Exception leaderException = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerException = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertTrue(leaderException.getCause() instanceof NoSuchElementException);
+            assertTrue(followerException.getCause() instanceof NoSuchElementException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void 대기시간_초과_테스트() throws Exception {
+        // given - 대기 시간 50ms
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                return "스프링부트 따라하기";
+            }));
+            waitUntil(() -> singleFlight.getInFlightCount() == 1);
+
+            // when & then
+            assertThrows(ServiceBusyException.class, () -> singleFlight.execute(1L, () -> "실행되면 안됨"));
+            assertEquals(1, singleFlight.getTimeoutCount());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -1,32 +1,59 @@
 package com.example.demo.unit.controller;
 
+import com.example.demo.async.PostExecutors;
 import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostCursor;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostSearchHit;
+import com.example.demo.dto.post.PostSummary;
+import com.example.demo.dto.post.PostVersion;
 import com.example.demo.dto.post.WritePostReq;
+import com.example.demo.exception.PreconditionFailedException;
+import com.example.demo.repository.PostRepositoryCustom;
 import com.example.demo.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // 단위 테스트(Controller 관련 로직만 띄우기) - Filter, ControllerAdvice
+@Import(PostExecutors.class) // @WebMvcTest 는 @Component 를 올리지 않음 (기본 설정 : 요청 스레드에서 바로 실행)
 @WebMvcTest // -> @ExtendWith(SpringExtension.class) - 스프링 환경 확장시 사용하는 애노테이션 - Spring 에서 JUnit5 에서 테스트 할때 필수
 // @RunWith(SpringRunner.class) - Junit4 에서 테스트 할때 필수
 public class PostControllerUnitTest {
@@ -52,7 +79,7 @@ public class PostControllerUnitTest {
         when(postService.저장하기(writePostReq)).thenReturn(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
 
         // when (테스트 실행)
-        ResultActions resultAction = mockMvc.perform(post("/post")
+        ResultActions resultAction = perform(post("/post")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(content)
                 .accept(MediaType.APPLICATION_JSON));
@@ -77,7 +104,8 @@ public class PostControllerUnitTest {
         when(postService.모두가져오기()).thenReturn(postList);
 
         // when
-        ResultActions resultActions = mockMvc.perform(get("/post")
+        ResultActions resultActions = perform(get("/post")
+                .param("all", "true")
                 .accept(MediaType.APPLICATION_JSON));
 
         // then
@@ -88,25 +116,214 @@ public class PostControllerUnitTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void 비동기비활성화_요청스레드실행_테스트() throws Exception {
+        // given - post.async.enabled=false : 요청 스레드에서 실행하고 결과가 이미 정해진 DeferredResult 를 반환
+        when(postService.모두가져오기()).thenReturn(new ArrayList<>());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/post")
+                        .param("all", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then - 컨트롤러가 반환될 때 이미 결과가 있음
+        assertNotNull(mvcResult.getAsyncResult(0)); // 0 : 기다리지 않음 (결과가 없으면 예외)
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(0)));
+    }
+
+    @Test
+    public void findPage_테스트() throws Exception{
+        // given
+        // stub 생성
+        List<Post> postList = new ArrayList<>();
+        postList.add(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        postList.add(new Post(2L, "리액트 따라하기", "리액트 따라하기 내용"));
+
+        when(postService.페이지가져오기(null, 2)).thenReturn(PostPageRes.<Post>builder()
+                .posts(postList)
+                .nextCursor(PostCursor.encode(2L)).build());
+
+        // when
+        ResultActions resultActions = perform(get("/post")
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.posts.[0].title").value("스프링부트 따라하기"))
+                .andExpect(jsonPath("$.nextCursor").value(PostCursor.encode(2L)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void findSummaryPage_테스트() throws Exception{
+        // given
+        List<PostSummary> summaryList = new ArrayList<>();
+        summaryList.add(new PostSummary(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+
+        when(postService.요약페이지가져오기(null, PostService.DEFAULT_PAGE_SIZE)).thenReturn(PostPageRes.<PostSummary>builder()
+                .posts(summaryList).build());
+
+        // when
+        ResultActions resultActions = perform(get("/post")
+                .param("view", "summary")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.[0].excerpt").value("스프링부트 따라하기 내용"))
+                .andExpect(jsonPath("$.posts.[0].content").doesNotExist())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void export_테스트() throws Exception {
+        // given - 서비스가 게시글을 한건씩 넘겨주도록 stub
+        doAnswer(invocation -> {
+            Consumer<Post> consumer = invocation.getArgument(0);
+            consumer.accept(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+            consumer.accept(new Post(2L, "리액트 따라하기", "리액트 따라하기 내용"));
+            return null;
+        }).when(postService).모두내보내기(any());
+
+        // when - StreamingResponseBody 는 비동기로 실행되므로 asyncDispatch 로 완료까지 기다림
+        MvcResult mvcResult = mockMvc.perform(get("/post/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then - 한 줄에 게시글 하나
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("스프링부트 따라하기", JsonPath.read(lines[0], "$.title"));
+    }
+
+    @Test
+    public void search_테스트() throws Exception {
+        // given
+        List<PostSearchHit> hits = new ArrayList<>();
+        hits.add(new PostSearchHit(2L, "스프링부트 따라하기", 1.5));
+
+        when(postService.검색하기("스프링부트", PostService.DEFAULT_SEARCH_SIZE)).thenReturn(hits);
+
+        // when
+        ResultActions resultActions = perform(get("/post/search")
+                .param("q", "스프링부트")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     public void findById_테스트() throws Exception{
         // given
         Long id = 1L;
 
+        Post post = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+        post.setVersion(3L);
+
         // stub 생성
-        when(postService.한건가져오기(id)).thenReturn(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        when(postService.한건가져오기(id)).thenReturn(post);
 
 
         // when
-        ResultActions resultAction = mockMvc.perform(get("/post/{id}", id)
+        ResultActions resultAction = perform(get("/post/{id}", id)
                 .accept(MediaType.APPLICATION_JSON));
 
-        // then
+        // then - 버전이 ETag 로 내려감, 조건부 헤더가 없으므로 버전을 따로 조회하지 않음
         resultAction
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.title").value("스프링부트 따라하기"))
                 .andDo(MockMvcResultHandlers.print());
+        verify(postService, never()).버전가져오기(id);
+
+    }
+
+    @Test
+    public void findById_304_테스트() throws Exception {
+        // given
+        Long id = 1L;
+
+        when(postService.버전가져오기(id)).thenReturn(new PostVersion(3L, Instant.now()));
 
+        // when - 가지고 있는 버전과 같은 ETag 로 요청
+        ResultActions resultActions = perform(get("/post/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - body 없이 304, 본문은 조회하지 않음
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(postService, never()).한건가져오기(id);
+    }
+
+    @Test
+    public void findContent_range_테스트() throws Exception {
+        // given
+        Long id = 1L;
+        byte[] content = "스프링부트 따라하기 내용".getBytes(StandardCharsets.UTF_8);
+
+        doAnswer(invocation -> {
+            PostRepositoryCustom.ContentReader reader = invocation.getArgument(1);
+            reader.read(content.length, new ByteArrayInputStream(content));
+            return null;
+        }).when(postService).내용읽기(eq(id), any());
+
+        // when - 앞 15 byte (한글 5글자) 만 요청
+        ResultActions resultActions = perform(get("/post/{id}/content", id)
+                .header(HttpHeaders.RANGE, "bytes=0-14"));
+
+        // then
+        resultActions
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-14/" + content.length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 15));
+
+        MvcResult result = resultActions.andReturn();
+        assertEquals("스프링부트", result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void findContent_범위초과_테스트() throws Exception {
+        // given
+        Long id = 1L;
+        byte[] content = "스프링부트".getBytes(StandardCharsets.UTF_8);
+
+        doAnswer(invocation -> {
+            PostRepositoryCustom.ContentReader reader = invocation.getArgument(1);
+            reader.read(content.length, new ByteArrayInputStream(content));
+            return null;
+        }).when(postService).내용읽기(eq(id), any());
+
+        // when
+        ResultActions resultActions = perform(get("/post/{id}/content", id)
+                .header(HttpHeaders.RANGE, "bytes=100-"));
+
+        // then
+        resultActions
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length));
     }
 
     @Test
@@ -117,7 +334,7 @@ public class PostControllerUnitTest {
         when(postService.한건가져오기(id)).thenThrow(new NoSuchElementException("id를 확인해주세요!!"));
 
         // when
-        ResultActions resultActions = mockMvc.perform(get("/post/{id}", id)
+        ResultActions resultActions = perform(get("/post/{id}", id)
                 .accept(MediaType.APPLICATION_JSON));
 
         // then
@@ -139,10 +356,34 @@ public class PostControllerUnitTest {
         String content = new ObjectMapper().writeValueAsString(writePostReq);
 
         // postService 는 가짜로 올라가있는 것 이기 때문에 실제 실행되는 것은 아님
-        when(postService.수정하기(id, writePostReq)).thenReturn(new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"));
+        when(postService.수정하기(id, writePostReq, null)).thenReturn(new Post(1L, "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용"));
+
+        // when
+        ResultActions resultActions = perform(put("/post/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content)
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("스프링부트 또 따라하기"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void patch_테스트() throws Exception {
+        // given - 제목만 수정
+        Long id = 1L;
+        PatchPostReq patchPostReq = PatchPostReq.builder()
+                .title("스프링부트 또 따라하기")
+                .build();
+        String content = new ObjectMapper().writeValueAsString(patchPostReq);
+
+        when(postService.부분수정하기(id, patchPostReq, null)).thenReturn(new Post(1L, "스프링부트 또 따라하기", null));
 
         // when
-        ResultActions resultActions = mockMvc.perform(put("/post/{id}", id)
+        ResultActions resultActions = perform(patch("/post/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(content)
                 .accept(MediaType.APPLICATION_JSON));
@@ -154,16 +395,66 @@ public class PostControllerUnitTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void update_412_테스트() throws Exception {
+        // given
+        Long id = 1L;
+        WritePostReq writePostReq = WritePostReq.builder()
+                .title("스프링부트 또 따라하기")
+                .content("스프링부트 또 따라하기 내용")
+                .build();
+        String content = new ObjectMapper().writeValueAsString(writePostReq);
+
+        when(postService.수정하기(id, writePostReq, 2L)).thenThrow(new PreconditionFailedException());
+
+        // when - 이미 지난 버전으로 수정 요청
+        ResultActions resultActions = perform(put("/post/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content)
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("Precondition Failed"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void update_weak_ETag_412_테스트() throws Exception {
+        // given
+        Long id = 1L;
+        WritePostReq writePostReq = WritePostReq.builder()
+                .title("스프링부트 또 따라하기")
+                .content("스프링부트 또 따라하기 내용")
+                .build();
+        String content = new ObjectMapper().writeValueAsString(writePostReq);
+
+        // when - If-Match 는 strong 비교이므로 weak ETag 는 버전이 같아도 일치하지 않음
+        ResultActions resultActions = perform(put("/post/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content)
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then - 수정하지 않고 412
+        resultActions
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("Precondition Failed"));
+        verify(postService, never()).수정하기(any(), any(), any());
+    }
+
     @Test
     public void delete_테스트() throws Exception {
         // given
         Long id = 1L;
 
         // postService 는 가짜로 올라가있는 것 이기 때문에 실제 실행되는 것은 아님
-        when(postService.삭제하기(id)).thenReturn("ok");
+        when(postService.삭제하기(id, null)).thenReturn("ok");
 
         // when
-        ResultActions resultActions = mockMvc.perform(delete("/post/{id}", id)
+        ResultActions resultActions = perform(delete("/post/{id}", id)
                 .accept(MediaType.TEXT_PLAIN));
 
         // then - JSON 응답 시
@@ -176,4 +467,11 @@ public class PostControllerUnitTest {
         String result = requestResult.getResponse().getContentAsString();
         assertEquals("ok", result);
     }
+
+    // PostExecutors 로 실행하는 endpoint 는 DeferredResult 를 반환하므로 비동기 처리 결과까지 dispatch 해서 확인
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions resultActions = mockMvc.perform(request);
+        MvcResult mvcResult = resultActions.andReturn();
+        return mvcResult.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(mvcResult)) : resultActions;
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.demo.unit.domain;
+
+import com.example.demo.domain.PostContentConverter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 단위 테스트 (PostContentConverter) - 저장 형식과 왕복 변환 확인
+public class PostContentConverterUnitTest {
+
+    private final PostContentConverter converter = new PostContentConverter(true, 1024);
+
+    @Test
+    public void 작은content_압축안함_테스트() {
+        // given
+        String content = "스프링부트 따라하기 내용";
+
+        // when
+        byte[] stored = converter.convertToDatabaseColumn(content);
+
+        // then - header 1 byte + 원본 UTF-8
+        assertEquals(0, stored[0]);
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length + 1, stored.length);
+        assertEquals(content, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void 큰content_압축_테스트() {
+        // given
+        String content = "스프링부트 따라하기 내용 ".repeat(1000);
+
+        // when
+        byte[] stored = converter.convertToDatabaseColumn(content);
+
+        // then - 압축되어 원본보다 작고, 다시 읽으면 같은 값
+        assertEquals(1, stored[0]);
+        assertTrue(stored.length < content.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertEquals(content, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    public void 압축설정_끈경우_테스트() {
+        // given - 압축해서 저장된 값
+        String content = "스프링부트 따라하기 내용 ".repeat(1000);
+        byte[] compressed = converter.convertToDatabaseColumn(content);
+        PostContentConverter disabled = new PostContentConverter(false, 1024);
+
+        // when & then - 새로 저장하는 값은 압축하지 않지만, 압축된 값은 읽을 수 있음
+        assertEquals(0, disabled.convertToDatabaseColumn(content)[0]);
+        assertEquals(content, disabled.convertToEntityAttribute(compressed));
+        assertNull(disabled.convertToDatabaseColumn(null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.unit.metrics;
+
+import com.example.demo.async.PostExecutors;
+import com.example.demo.controller.PostController;
+import com.example.demo.dto.post.PostCacheStatsRes;
+import com.example.demo.metrics.PostMetricsAspect;
+import com.example.demo.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 단위 테스트 (PostMetricsAspect) - Spring 없이 proxy 를 만들어 Timer 등록/기록 확인
+public class PostMetricsAspectUnitTest {
+
+    @Test
+    public void endpoint_측정_테스트() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PostService postService = mock(PostService.class);
+        when(postService.캐시통계가져오기()).thenReturn(PostCacheStatsRes.builder().build());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PostController(postService, new ObjectMapper(), postExecutors()));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PostMetricsAspect(registry));
+        PostController controller = factory.getProxy();
+
+        // when - 같은 endpoint 를 두번 호출
+        controller.cacheStats();
+        controller.cacheStats();
+
+        // then - endpoint 의 method/uri 로 Timer 하나에 기록됨
+        Timer timer = registry.find("post.http.requests")
+                .tag("method", "GET")
+                .tag("uri", "/post/cache/stats")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find("post.http.requests").timers().size());
+    }
+
+    @Test
+    public void 비동기endpoint_측정_테스트() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PostService postService = mock(PostService.class);
+        when(postService.모두가져오기()).thenReturn(Collections.emptyList());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PostController(postService, new ObjectMapper(), postExecutors()));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PostMetricsAspect(registry));
+        PostController controller = factory.getProxy();
+
+        // when - PostExecutors 로 실행하고 DeferredResult 를 반환하는 endpoint
+        DeferredResult<?> result = controller.findAll();
+
+        // then - 작업이 끝날 때 기록됨 (SQL 문장 수도 한번)
+        Timer timer = registry.find("post.http.requests")
+                .tag("uri", "/post?all=true")
+                .timer();
+        assertTrue(result.hasResult());
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(1, registry.find("post.http.statements").tag("uri", "/post?all=true").summary().count());
+    }
+
+    // post.async.enabled=false 와 같은 설정 (요청 스레드에서 바로 실행)
+    private static PostExecutors postExecutors() {
+        ObjectProvider<MeterRegistry> noMetrics = new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+        return new PostExecutors(noMetrics, false, Duration.ofSeconds(10), 1, 1, 1, 1, 1, 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.unit.metrics;
+
+import com.example.demo.metrics.SqlTraceLogger;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 단위 테스트 (SqlTraceLogger) - 기록 대상 선택과 buffer 크기 제한 확인 (writer 스레드는 시작하지 않음)
+public class SqlTraceLoggerUnitTest {
+
+    @Test
+    public void 느린쿼리만_기록_테스트() {
+        // given - sample 없이 100ms 이상만 기록
+        SqlTraceLogger logger = new SqlTraceLogger(Duration.ofMillis(100), 0, 10);
+
+        // when
+        logger.afterQuery(execution(5), Collections.singletonList(new QueryInfo("select 1")));
+        logger.afterQuery(execution(150), Collections.singletonList(new QueryInfo("select 2")));
+
+        // then
+        assertEquals(1, logger.pendingCount());
+    }
+
+    @Test
+    public void buffer_가득참_테스트() {
+        // given - 모든 문장을 기록하지만 buffer 는 2건
+        SqlTraceLogger logger = new SqlTraceLogger(Duration.ZERO, 1.0, 2);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            logger.afterQuery(execution(1), Collections.singletonList(new QueryInfo("select " + i)));
+        }
+
+        // then - 요청 스레드를 막지 않고 버린 개수만 셈
+        assertEquals(2, logger.pendingCount());
+        assertEquals(3, logger.droppedCount());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+}
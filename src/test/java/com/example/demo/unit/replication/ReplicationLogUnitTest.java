@@ -0,0 +1,119 @@
+package com.example.demo.unit.replication;
+
+import com.example.demo.replication.CapturedStatement;
+import com.example.demo.replication.Replica;
+import com.example.demo.replication.ReplicationLog;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 단위 테스트 (ReplicationLog, Replica) - replica 는 H2 in-memory DB 두 개, 적용 스레드는 실제로 실행
+public class ReplicationLogUnitTest {
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+
+    private ReplicationLog replicationLog;
+
+    @AfterEach
+    public void tearDown() {
+        if (replicationLog != null) {
+            replicationLog.close();
+        }
+    }
+
+    @Test
+    public void 복제_테스트() throws Exception {
+        // given
+        replicationLog = replicationLog(Duration.ZERO, Duration.ofSeconds(1));
+
+        // when - DDL, 그리고 batch 로 실행된 insert 2건
+        replicationLog.publish(Collections.singletonList(statement("create table Note (id bigint primary key, title varchar(255))")));
+        replicationLog.publish(Collections.singletonList(new CapturedStatement("insert into Note (id, title) values (?, ?)", List.of(
+                List.of(set("setLong", long.class, 1, 1L), set("setString", String.class, 2, "제목 1")),
+                List.of(set("setLong", long.class, 1, 2L), set("setString", String.class, 2, "제목 2"))))));
+
+        // then - 모든 replica 에 같은 순서로 적용됨
+        assertTrue(replicationLog.awaitCaughtUp(Duration.ofSeconds(5)));
+        assertEquals(2, replicationLog.committedPosition());
+        for (Replica replica : replicationLog.getReplicas()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+            assertEquals(2, jdbcTemplate.queryForObject("select count(*) from Note", Integer.class));
+            assertEquals("제목 2", jdbcTemplate.queryForObject("select title from Note where id = 2", String.class));
+            assertEquals(2, replica.getAppliedPosition());
+        }
+    }
+
+    @Test
+    public void replica선택_테스트() throws Exception {
+        // given
+        replicationLog = replicationLog(Duration.ZERO, Duration.ofSeconds(1));
+        replicationLog.publish(Collections.singletonList(statement("create table Note (id bigint primary key)")));
+        assertTrue(replicationLog.awaitCaughtUp(Duration.ofSeconds(5)));
+
+        // when & then - 시작 전에는 primary
+        assertNull(replicationLog.select(0));
+
+        // when & then - 시작 후에는 replica 를 돌아가며 사용
+        replicationLog.activate();
+        Replica first = replicationLog.select(0);
+        Replica second = replicationLog.select(0);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotEquals(first.getName(), second.getName());
+
+        // when & then - 아직 어느 replica 도 적용하지 않은 위치를 요구하면 primary (read-your-writes)
+        assertNull(replicationLog.select(replicationLog.committedPosition() + 1));
+    }
+
+    @Test
+    public void 복제지연_테스트() throws Exception {
+        // given - replica 는 commit 후 1시간 뒤에 적용, 허용 지연은 50ms
+        replicationLog = replicationLog(Duration.ofHours(1), Duration.ofMillis(50));
+        replicationLog.activate();
+
+        // when
+        replicationLog.publish(Collections.singletonList(statement("create table Note (id bigint primary key)")));
+        Thread.sleep(100);
+
+        // then - 지연이 허용 범위를 넘은 replica 는 읽기에서 제외 -> primary
+        assertNull(replicationLog.select(0));
+        for (Replica replica : replicationLog.getReplicas()) {
+            assertEquals(0, replica.getAppliedPosition());
+            assertTrue(replica.lagNanos() >= Duration.ofMillis(100).toNanos());
+        }
+    }
+
+    private static ReplicationLog replicationLog(Duration replicationDelay, Duration maxLag) {
+        List<Replica> replicas = List.of(
+                new Replica("replica-1", dataSource(), replicationDelay),
+                new Replica("replica-2", dataSource(), replicationDelay));
+        return new ReplicationLog(replicas, maxLag);
+    }
+
+    // 테스트마다 새 DB (커넥션을 모두 닫아도 유지되도록 DB_CLOSE_DELAY=-1)
+    private static DriverManagerDataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:replication-unit-" + DATABASE_SEQUENCE.incrementAndGet() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static CapturedStatement statement(String sql) {
+        return new CapturedStatement(sql, Collections.emptyList());
+    }
+
+    private static ParameterSetOperation set(String method, Class<?> type, int index, Object value) throws NoSuchMethodException {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(method, int.class, type), new Object[]{index, value});
+    }
+}
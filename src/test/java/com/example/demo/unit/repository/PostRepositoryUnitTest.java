@@ -1,15 +1,21 @@
 package com.example.demo.unit.repository;
 
 import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostSummary;
 import com.example.demo.repository.PostRepository;
-import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,13 +35,7 @@ public class PostRepositoryUnitTest {
     @Autowired
     private EntityManager entityManager;
 
-    @BeforeEach
-    public void init() {
-        // 테이블 autoincrement 초기화
-        // H2
-        entityManager.createNativeQuery("ALTER TABLE post ALTER COLUMN id RESTART WITH 1").executeUpdate();
-        // MySQL - entityManager.createNativeQuery("ALTER TABLE post AUTO_INCREMENT =1").executeUpdate();
-    }
+    // Post.id 는 시퀀스(pooled) 전략이라 테스트마다 id 를 1로 초기화할 수 없음 -> 저장된 엔티티의 id 로 검증
 
     @Test
     public void save_테스트() {
@@ -53,8 +53,8 @@ public class PostRepositoryUnitTest {
     public void saveAll_테스트() {
         // given
         List<Post> postList = Arrays.asList(
-                new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
-                new Post(2L, "리엑트 따라하기", "리엑트 따라하기 내용")
+                new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
+                new Post(null, "리엑트 따라하기", "리엑트 따라하기 내용")
         );
         // & when
         List<Post> postEntityList = postRepository.saveAll(postList);
@@ -67,20 +67,20 @@ public class PostRepositoryUnitTest {
     @Test
     public void findById_테스트() {
         // given
-        postRepository.saveAll(
+        List<Post> saved = postRepository.saveAll(
                 Arrays.asList(
-                        new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
-                        new Post(2L, "리엑트 따라하기", "리엑트 따라하기 내용")
+                        new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
+                        new Post(null, "리엑트 따라하기", "리엑트 따라하기 내용")
                 )
         );
-        Long id = 1L;
+        Long id = saved.get(0).getId();
 
         // when
         Optional<Post> postEntity = postRepository.findById(id);
 
         // then
         assertTrue(postEntity.isPresent());
-        assertEquals(1L, postEntity.get().getId());
+        assertEquals(id, postEntity.get().getId());
         assertEquals("스프링부트 따라하기", postEntity.get().getTitle());
 
     }
@@ -115,16 +115,131 @@ public class PostRepositoryUnitTest {
         assertEquals(2, postEntityList.size());
     }
 
+    @Test
+    public void findByIdGreaterThan_테스트() {
+        // given
+        List<Post> saved = postRepository.saveAll(
+                Arrays.asList(
+                        new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
+                        new Post(null, "리엑트 따라하기", "리엑트 따라하기 내용"),
+                        new Post(null, "뷰 따라하기", "뷰 따라하기 내용")
+                )
+        );
+
+        // when - 첫번째 글 이후로 1건만 조회
+        List<Post> postEntityList = postRepository.findByIdGreaterThanOrderByIdAsc(saved.get(0).getId(), PageRequest.of(0, 1));
+
+        // then
+        assertEquals(1, postEntityList.size());
+        assertEquals("리엑트 따라하기", postEntityList.get(0).getTitle());
+    }
+
+    @Test
+    public void findSummariesByIdGreaterThan_테스트() {
+        // given
+        StringBuilder longContent = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longContent.append("내용");
+        }
+        postRepository.save(new Post(null, "스프링부트 따라하기", longContent.toString()));
+
+        // when
+        List<PostSummary> summaries = postRepository.findSummariesByIdGreaterThan(0L, PageRequest.of(0, 10));
+
+        // then - 저장 시 잘라둔 excerpt 만 옴
+        assertEquals(1, summaries.size());
+        assertEquals("스프링부트 따라하기", summaries.get(0).getTitle());
+        assertEquals(PostSummary.EXCERPT_LENGTH, summaries.get(0).getExcerpt().length());
+    }
+
+    @Test
+    public void content_압축저장_테스트() {
+        // given - 압축 기준(min-size) 보다 긴 content
+        StringBuilder longContent = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longContent.append("스프링부트 따라하기 ").append(i);
+        }
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", longContent.toString()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - DB 에서 다시 읽어옴
+        Post postEntity = postRepository.findById(saved.getId()).get();
+
+        // then - 읽을 때 압축 해제되어 원래 값과 같음
+        assertEquals(longContent.toString(), postEntity.getContent());
+    }
+
+    @Test
+    public void content_지연로딩_테스트() {
+        // given
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - 일반 조회
+        Post post = postRepository.findById(saved.getId()).get();
+
+        // then - content 는 아직 읽어오지 않았고, 접근할 때 조회됨
+        assertFalse(Hibernate.isPropertyInitialized(post, "content"));
+        assertEquals("스프링부트 따라하기 내용", post.getContent());
+        entityManager.clear();
+
+        // when & then - content 를 응답하는 조회는 한번에 읽어옴
+        Post withContent = postRepository.findWithContentById(saved.getId()).get();
+        assertTrue(Hibernate.isPropertyInitialized(withContent, "content"));
+    }
+
+    @Test
+    public void readContent_테스트() {
+        // given - 압축되어 저장되는 content
+        String content = "스프링부트 따라하기 내용 ".repeat(1000);
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", content));
+        entityManager.flush();
+
+        // when - 스트림으로 읽음
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] length = new long[1];
+        boolean found = postRepository.readContent(saved.getId(), (contentLength, stream) -> {
+            length[0] = contentLength;
+            stream.transferTo(out);
+        });
+
+        // then - 원본 UTF-8 길이와 내용
+        assertTrue(found);
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length, length[0]);
+        assertEquals(content, out.toString(StandardCharsets.UTF_8));
+        assertFalse(postRepository.readContent(0L, (contentLength, stream) -> { }));
+    }
+
+    @Test
+    public void saveAll_batch_테스트() {
+        // given - JDBC batch 크기보다 많은 게시글
+        List<Post> postList = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            postList.add(new Post(null, "게시글 " + i, "게시글 내용 " + i));
+        }
+
+        // when
+        postRepository.saveAll(postList);
+        entityManager.flush();
+        entityManager.clear();
+
+        // then - 시퀀스 전략이라 persist 시점에 id 가 할당되고, 모두 저장됨
+        assertTrue(postList.stream().allMatch(post -> post.getId() != null));
+        assertEquals(1200, postRepository.count());
+    }
+
     @Test
     public void deleteById_테스트() {
         // given
-        postRepository.saveAll(
+        List<Post> saved = postRepository.saveAll(
                 Arrays.asList(
-                        new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
-                        new Post(2L, "리엑트 따라하기", "리엑트 따라하기 내용")
+                        new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"),
+                        new Post(null, "리엑트 따라하기", "리엑트 따라하기 내용")
                 )
         );
-        Long id = 1L;
+        Long id = saved.get(0).getId();
 
 
         // when
@@ -134,4 +249,67 @@ public class PostRepositoryUnitTest {
         // then
         assertTrue(postEntity.isEmpty());
     }
+
+    @Test
+    public void updateById_테스트() {
+        // given
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        Long version = saved.getVersion();
+
+        // when - UPDATE 한번으로 수정
+        int updated = postRepository.updateById(saved.getId(), "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용",
+                "스프링부트 또 따라하기 내용", Instant.now());
+        Post postEntity = postRepository.findById(saved.getId()).get();
+
+        // then - 버전도 1 증가
+        assertEquals(1, updated);
+        assertEquals("스프링부트 또 따라하기", postEntity.getTitle());
+        assertEquals(version + 1, postEntity.getVersion());
+    }
+
+    @Test
+    public void updateByIdAndVersion_버전불일치_테스트() {
+        // given
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+
+        // when - 지난 버전으로 수정
+        int updated = postRepository.updateByIdAndVersion(saved.getId(), saved.getVersion() - 1,
+                "스프링부트 또 따라하기", "스프링부트 또 따라하기 내용", "스프링부트 또 따라하기 내용", Instant.now());
+
+        // then - 변경된 행 없음
+        assertEquals(0, updated);
+        assertEquals("스프링부트 따라하기", postRepository.findById(saved.getId()).get().getTitle());
+    }
+
+    @Test
+    public void patchById_테스트() {
+        // given
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        Long version = saved.getVersion();
+
+        // when - 제목만 수정
+        int updated = postRepository.patchById(saved.getId(), version, "스프링부트 또 따라하기", null, Instant.now());
+        Post postEntity = postRepository.findById(saved.getId()).get();
+
+        // then - content 는 그대로, 버전은 1 증가
+        assertEquals(1, updated);
+        assertEquals("스프링부트 또 따라하기", postEntity.getTitle());
+        assertEquals("스프링부트 따라하기 내용", postEntity.getContent());
+        assertEquals(version + 1, postEntity.getVersion());
+    }
+
+    @Test
+    public void removeById_테스트() {
+        // given
+        Post saved = postRepository.save(new Post(null, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+
+        // when
+        int deleted = postRepository.removeById(saved.getId());
+        int deletedAgain = postRepository.removeById(saved.getId());
+
+        // then - 없는 id 는 0건
+        assertEquals(1, deleted);
+        assertEquals(0, deletedAgain);
+        assertTrue(postRepository.findById(saved.getId()).isEmpty());
+    }
 }
@@ -0,0 +1,154 @@
+package com.example.demo.unit.search;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostSearchHit;
+import com.example.demo.dto.post.PostSearchStatsRes;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.search.PostSearchIndex;
+import com.example.demo.search.PostTokenizer;
+import com.example.demo.shard.PostShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 단위 테스트 (PostSearchIndex) - DB 없이 색인/검색 동작만 확인
+public class PostSearchIndexUnitTest {
+
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex(null, null, null);
+
+    @Test
+    public void 토큰분리_테스트() {
+        // given
+        Map<String, Integer> terms = new HashMap<>();
+
+        // when
+        PostTokenizer.tokenize("스프링부트를 Spring Boot!", 1, terms);
+
+        // then - 한글은 2글자씩, 영어는 소문자 단어로
+        assertEquals(1, terms.get("스프"));
+        assertEquals(1, terms.get("부트"));
+        assertEquals(1, terms.get("트를"));
+        assertEquals(1, terms.get("spring"));
+        assertEquals(1, terms.get("boot"));
+        assertEquals(7, terms.size()); // 스프, 프링, 링부, 부트, 트를, spring, boot
+    }
+
+    @Test
+    public void 검색_순위_테스트() {
+        // given
+        postSearchIndex.index(new Post(1L, "리액트 따라하기", "스프링부트와 함께 쓰는 리액트"));
+        postSearchIndex.index(new Post(2L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        postSearchIndex.index(new Post(3L, "자바 기초", "자바 내용"));
+
+        // when - 조사가 붙은 검색어
+        List<PostSearchHit> hits = postSearchIndex.search("스프링부트를", 10);
+
+        // then - 제목에 있는 게시글이 먼저, 관련 없는 게시글은 제외
+        assertEquals(2, hits.size());
+        assertEquals(2L, hits.get(0).getId());
+        assertEquals(1L, hits.get(1).getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    public void 상위k개_테스트() {
+        // given
+        for (long id = 1; id <= 50; id++) {
+            postSearchIndex.index(new Post(id, "게시글 " + id, "스프링부트 내용"));
+        }
+
+        // when & then
+        assertEquals(5, postSearchIndex.search("스프링", 5).size());
+    }
+
+    @Test
+    public void 수정_삭제_반영_테스트() {
+        // given
+        postSearchIndex.index(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        postSearchIndex.index(new Post(2L, "리액트 따라하기", "리액트 따라하기 내용"));
+
+        // when - 1번은 제목/내용 변경, 2번은 삭제
+        postSearchIndex.index(new Post(1L, "자바 따라하기", "자바 따라하기 내용"));
+        postSearchIndex.remove(2L);
+
+        // then - 이전 내용으로는 찾을 수 없음
+        assertTrue(postSearchIndex.search("스프링부트", 10).isEmpty());
+        assertTrue(postSearchIndex.search("리액트", 10).isEmpty());
+        assertEquals(1, postSearchIndex.search("자바", 10).size());
+
+        PostSearchStatsRes stats = postSearchIndex.stats();
+        assertEquals(1, stats.getDocumentCount());
+        assertTrue(stats.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    public void 여러건생성_색인전_삭제_테스트() {
+        // given - 여러건 생성 트랜잭션 안에서 이벤트 발행 (색인은 commit 이후)
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postSearchIndex.onPostsCreated(new PostsCreatedEvent(List.of(1L, 2L),
+                    List.of("스프링부트 따라하기", "스프링 입문"), List.of("스프링부트 내용", "스프링 내용"), new int[]{21, 13}));
+            assertTrue(postSearchIndex.search("스프링", 10).isEmpty()); // commit 전에는 색인하지 않음
+
+            // when - commit 직후, 색인하기 전에 다른 요청이 2번을 삭제 (삭제 이벤트가 먼저 반영됨)
+            postSearchIndex.remove(2L);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then - 삭제된 게시글은 다시 색인되지 않음
+        List<PostSearchHit> hits = postSearchIndex.search("스프링", 10);
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+        assertEquals(1, postSearchIndex.stats().getDocumentCount());
+    }
+
+    @Test
+    public void rebuild_도중_삭제_테스트() {
+        // given - 전체 색인이 2번을 읽은 직후에 2번이 삭제됨
+        PostRepository postRepository = mock(PostRepository.class);
+        PostShards postShards = mock(PostShards.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(postShards).forEachShard(any());
+        PostSearchIndex index = new PostSearchIndex(postRepository, mock(EntityManager.class), postShards);
+        when(postRepository.streamAllOrderById()).thenReturn(Stream.of(1L, 2L).map(id -> {
+            Post post = new Post(id, "스프링 " + id, "스프링 내용");
+            if (id == 2L) {
+                index.remove(2L);
+            }
+            return post;
+        }));
+
+        // when
+        index.rebuild();
+
+        // then - 읽어 둔 내용으로 삭제된 게시글을 다시 넣지 않음
+        List<PostSearchHit> hits = index.search("스프링", 10);
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+        assertTrue(index.isReady());
+
+        // then - 작업이 끝나면 삭제 기록은 비워짐 (같은 id 를 다시 색인할 수 있음)
+        index.index(new Post(2L, "스프링 2", "스프링 내용"));
+        assertEquals(2, index.search("스프링", 10).size());
+    }
+}
@@ -1,22 +1,52 @@
 package com.example.demo.unit.service;
 
+import com.example.demo.cache.PostCache;
+import com.example.demo.cache.PostIdFilter;
 import com.example.demo.domain.Post;
+import com.example.demo.dto.post.BatchWriteRes;
+import com.example.demo.dto.post.PatchPostReq;
+import com.example.demo.dto.post.PostCursor;
+import com.example.demo.dto.post.PostPageRes;
+import com.example.demo.dto.post.PostVersion;
+import com.example.demo.event.PostChangeFeed;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.repository.PostRepository;
+import com.example.demo.search.PostSearchIndex;
+import com.example.demo.shard.PostShards;
+import com.example.demo.stats.PostStats;
 import com.example.demo.dto.post.WritePostReq;
 import com.example.demo.service.PostService;
+import com.example.demo.service.PostWriteBehind;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import javax.persistence.EntityManager;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 // 단위 테스트 (Service) - Service 관련된 Bean 만 IoC에 등록되면됨
@@ -30,6 +60,33 @@ public class PostServiceUnitTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private PostIdFilter postIdFilter;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PostStats postStats;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PostChangeFeed postChangeFeed;
+
+    @Mock
+    private PostWriteBehind postWriteBehind;
+
+    @Mock
+    private PostShards postShards; // 가짜 객체는 isEnabled() 가 false -> shard 없이 현재 트랜잭션에서 조회
+
 
     @Test
     public void 저장하기_테스트() {
@@ -52,6 +109,48 @@ public class PostServiceUnitTest {
 
         // then
         assertEquals(post, postEntity); // expected , actual
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class)); // commit 이후 캐시 등에 전달될 이벤트
+    }
+
+    @Test
+    public void 여러건저장하기_테스트() {
+        // given
+        List<WritePostReq> writePostReqs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            writePostReqs.add(WritePostReq.builder()
+                    .title("게시글 " + i)
+                    .content("게시글 내용 " + i)
+                    .build());
+        }
+
+        // stub - persist 시점에 시퀀스 id 가 할당되는 것을 흉내냄
+        AtomicLong sequence = new AtomicLong();
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> {
+            Post post = invocation.getArgument(0);
+            post.setId(sequence.incrementAndGet());
+            return post;
+        });
+
+        // when
+        BatchWriteRes result = postService.여러건저장하기(writePostReqs);
+
+        // then
+        assertEquals(3, result.getCount());
+        assertEquals(Arrays.asList(1L, 2L, 3L), result.getIds());
+        verify(eventPublisher).publishEvent(any(PostsCreatedEvent.class)); // 게시글마다가 아니라 한번만 발행
+        verify(eventPublisher, never()).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    public void 여러건저장하기_최대건수초과_테스트() {
+        // given
+        List<WritePostReq> writePostReqs = Collections.nCopies(PostService.MAX_BATCH_SIZE + 1, WritePostReq.builder()
+                .title("게시글")
+                .content("게시글 내용")
+                .build());
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> postService.여러건저장하기(writePostReqs));
     }
 
     @Test
@@ -63,8 +162,9 @@ public class PostServiceUnitTest {
         post.setTitle("스프링부트 따라하기");
         post.setContent("스프링부트 따라하기 내용");
 
-        // stub - 동작 지정
-        when(postRepository.findById(id)).thenReturn(java.util.Optional.of(post));
+        // stub - 동작 지정 (캐시 miss -> loader 로 조회)
+        when(postCache.get(eq(id), any())).thenAnswer(invocation -> invocation.<Supplier<Post>>getArgument(1).get());
+        when(postRepository.findWithContentById(id)).thenReturn(java.util.Optional.of(post));
 
         // when
         Post postEntity = postService.한건가져오기(id);
@@ -79,7 +179,8 @@ public class PostServiceUnitTest {
         Long id = 1L;
 
         // stub - 동작 지정
-        when(postRepository.findById(id)).thenReturn(Optional.empty());
+        when(postCache.get(eq(id), any())).thenAnswer(invocation -> invocation.<Supplier<Post>>getArgument(1).get());
+        when(postRepository.findWithContentById(id)).thenReturn(Optional.empty());
 
         // when & then
         // assertThrows 에서 해당 실행 부분이 expected Exception 을 throw 하는지 확인
@@ -91,6 +192,84 @@ public class PostServiceUnitTest {
 
     }
 
+    @Test
+    public void 한건가져오기_없는id_테스트() {
+        // given
+        Long id = 1L;
+
+        // stub - bitmap 에 없는 id
+        when(postIdFilter.isKnownMissing(id)).thenReturn(true);
+
+        // when & then - 캐시/DB 를 거치지 않고 바로 404 예외
+        Exception exception = assertThrows(NoSuchElementException.class, () -> postService.한건가져오기(id));
+
+        assertEquals("id를 확인해주세요!!", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length); // stack trace 를 만들지 않음
+        verifyNoInteractions(postCache, postRepository);
+    }
+
+    @Test
+    public void 내용읽기_없는id_테스트() {
+        // given
+        Long id = 1L;
+
+        when(postRepository.readContent(eq(id), any())).thenReturn(false);
+
+        // when & then
+        assertThrows(NoSuchElementException.class, () -> postService.내용읽기(id, (length, content) -> { }));
+    }
+
+    @Test
+    public void 한건가져오기_캐시hit_테스트() {
+        // given
+        Long id = 1L;
+        Post post = new Post(id, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+
+        // stub - 캐시에 있으면 DB 를 조회하지 않음
+        when(postCache.get(eq(id), any())).thenReturn(post);
+
+        // when
+        Post postEntity = postService.한건가져오기(id);
+
+        // then
+        assertEquals(post, postEntity);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    public void 한건가져오기_저장대기중_테스트() {
+        // given - write-behind 로 접수만 되고 아직 commit 되지 않은 게시글
+        Long id = 1L;
+        Post accepted = new Post(id, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+
+        when(postWriteBehind.pending(id)).thenReturn(accepted);
+
+        // when
+        Post postEntity = postService.한건가져오기(id);
+
+        // then - 캐시/DB 를 거치지 않고 접수된 게시글을 반환
+        assertEquals(accepted, postEntity);
+        verifyNoInteractions(postCache, postRepository);
+    }
+
+    @Test
+    public void 저장접수하기_테스트() {
+        // given
+        Post accepted = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+
+        when(postWriteBehind.submit(any(Post.class))).thenReturn(accepted);
+
+        // when
+        Post postEntity = postService.저장접수하기(WritePostReq.builder()
+                .title("스프링부트 따라하기")
+                .content("스프링부트 따라하기 내용")
+                .build());
+
+        // then - 트랜잭션 없이 queue 에 넣기만 함 (이벤트는 writer 가 commit 할 때 발행)
+        assertEquals(accepted, postEntity);
+        verifyNoInteractions(postRepository, eventPublisher);
+    }
+
     @Test
     public void 모두가져오기_테스트() {
         // given
@@ -108,30 +287,192 @@ public class PostServiceUnitTest {
         assertEquals(postList, postEntityList);
     }
 
+    @Test
+    public void 페이지가져오기_테스트() {
+        // given
+        List<Post> postList = new ArrayList<>();
+        postList.add(new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용"));
+        postList.add(new Post(2L, "리액트 따라하기", "리액트 따라하기 내용"));
+        postList.add(new Post(3L, "뷰 따라하기", "뷰 따라하기 내용"));
+
+        // stub - 페이지 크기보다 한건 더 조회함
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3))).thenReturn(postList);
+
+        // when
+        PostPageRes<Post> page = postService.페이지가져오기(null, 2);
+
+        // then
+        assertEquals(2, page.getPosts().size());
+        assertEquals(PostCursor.encode(2L), page.getNextCursor());
+    }
+
+    @Test
+    public void 페이지가져오기_최대크기_테스트() {
+        // given
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, PostService.MAX_PAGE_SIZE + 1))).thenReturn(new ArrayList<>());
+
+        // when
+        PostPageRes<Post> page = postService.페이지가져오기(null, 100000);
+
+        // then
+        assertEquals(0, page.getPosts().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void 모두내보내기_테스트() {
+        // given
+        Post first = new Post(1L, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+        Post second = new Post(2L, "리액트 따라하기", "리액트 따라하기 내용");
+
+        when(postRepository.streamAllOrderById()).thenReturn(Stream.of(first, second));
+
+        // when
+        List<Post> exported = new ArrayList<>();
+        postService.모두내보내기(exported::add);
+
+        // then - 넘겨준 게시글은 영속성 컨텍스트에서 분리됨
+        assertEquals(Arrays.asList(first, second), exported);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
     @Test
     public void 수정하기_테스트() {
         // given
         Long id = 1L;
 
-        Post post = new Post();
-        post.setId(id);
-        post.setTitle("스프링부트 따라하기");
-        post.setContent("스프링부트 따라하기 내용");
-
         WritePostReq writePostReq = WritePostReq.builder()
                 .title("스프링부트 또 따라하기")
                 .content("스프링부트 또 따라하기 내용").build();
 
-        // stub - 동작 지정
-        when(postRepository.findById(1L)).thenReturn(java.util.Optional.of(post));
+        // stub - 동작 지정 (UPDATE 한번, 1건 변경)
+        when(postRepository.updateById(eq(id), eq("스프링부트 또 따라하기"), eq("스프링부트 또 따라하기 내용"), eq("스프링부트 또 따라하기 내용"), any(Instant.class)))
+                .thenReturn(1);
+        when(postRepository.findVersionById(id)).thenReturn(Optional.of(new PostVersion(4L, Instant.now())));
 
         // when
-        Post postEntity = postService.수정하기(id, writePostReq);
+        Post postEntity = postService.수정하기(id, writePostReq, null);
 
-        // then
+        // then - 수정 전에 게시글을 조회하지 않고, If-Match 가 없어도 수정 후 버전을 응답
         assertEquals("스프링부트 또 따라하기", postEntity.getTitle());
         assertEquals("스프링부트 또 따라하기 내용", postEntity.getContent());
+        assertEquals(4L, postEntity.getVersion());
+        verify(postRepository, never()).findById(id);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    public void 수정하기_없는id_테스트() {
+        // given
+        Long id = 1L;
+
+        WritePostReq writePostReq = WritePostReq.builder()
+                .title("스프링부트 또 따라하기")
+                .content("스프링부트 또 따라하기 내용").build();
+
+        when(postRepository.updateById(eq(id), any(), any(), any(), any(Instant.class))).thenReturn(0);
+
+        // when & then - 변경된 행이 없으면 404
+        assertThrows(NoSuchElementException.class, () -> postService.수정하기(id, writePostReq, null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void 수정하기_버전불일치_테스트() {
+        // given - 현재 버전은 3
+        Long id = 1L;
+
+        WritePostReq writePostReq = WritePostReq.builder()
+                .title("스프링부트 또 따라하기")
+                .content("스프링부트 또 따라하기 내용").build();
+
+        when(postRepository.updateByIdAndVersion(eq(id), eq(2L), any(), any(), any(), any(Instant.class))).thenReturn(0);
+        when(postRepository.findVersionById(id)).thenReturn(Optional.of(new PostVersion(3L, Instant.now())));
+
+        // when & then - 버전 2 를 기준으로 수정 요청하면 412
+        assertThrows(PreconditionFailedException.class, () -> postService.수정하기(id, writePostReq, 2L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void 부분수정하기_테스트() {
+        // given - 제목만 수정
+        Long id = 1L;
+
+        PatchPostReq patchPostReq = PatchPostReq.builder()
+                .title("스프링부트 또 따라하기").build();
+
+        when(postRepository.patchById(eq(id), eq(null), eq("스프링부트 또 따라하기"), eq(null), any(Instant.class))).thenReturn(1);
+        Post patched = new Post(id, "스프링부트 또 따라하기", "스프링부트 따라하기 내용");
+        patched.setVersion(4L);
+        when(postRepository.findWithContentById(id)).thenReturn(Optional.of(patched));
+
+        // when
+        Post postEntity = postService.부분수정하기(id, patchPostReq, null);
+
+        // then - UPDATE 에는 content 를 넘기지 않고, 응답은 수정하지 않은 content 와 수정 후 버전까지 포함
+        assertEquals("스프링부트 또 따라하기", postEntity.getTitle());
+        assertEquals("스프링부트 따라하기 내용", postEntity.getContent());
+        assertEquals(4L, postEntity.getVersion());
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    public void 부분수정하기_빈요청_테스트() {
+        // given
+        PatchPostReq patchPostReq = PatchPostReq.builder().build();
+
+        // when & then - DB 에 접근하지 않고 400
+        assertThrows(IllegalArgumentException.class, () -> postService.부분수정하기(1L, patchPostReq, null));
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    public void 삭제하기_테스트() {
+        // given
+        Long id = 1L;
+
+        when(postRepository.removeById(id)).thenReturn(1);
+
+        // when
+        String result = postService.삭제하기(id, null);
+
+        // then - DELETE 한번으로 삭제 (조회 없음), 저장 대기 중인 게시글이면 저장된 뒤에 삭제
+        assertEquals("ok", result);
+        verify(postWriteBehind).awaitFlushed(id);
+        verify(postRepository, never()).findById(id);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    public void 삭제하기_없는id_테스트() {
+        // given
+        Long id = 1L;
+
+        when(postRepository.removeById(id)).thenReturn(0);
+
+        // when & then
+        assertThrows(NoSuchElementException.class, () -> postService.삭제하기(id, null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void 버전가져오기_캐시hit_테스트() {
+        // given
+        Long id = 1L;
+
+        Post post = new Post(id, "스프링부트 따라하기", "스프링부트 따라하기 내용");
+        post.setVersion(3L);
+
+        when(postCache.peek(id)).thenReturn(post);
+
+        // when
+        PostVersion version = postService.버전가져오기(id);
 
+        // then - 캐시에 있으면 DB 조회 없음
+        assertEquals(3L, version.getVersion());
+        verifyNoInteractions(postRepository);
     }
 
 }
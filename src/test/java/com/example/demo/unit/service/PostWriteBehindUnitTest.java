@@ -0,0 +1,196 @@
+package com.example.demo.unit.service;
+
+import com.example.demo.cache.PostIdFilter;
+import com.example.demo.domain.Post;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.service.PostWriteBehind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 단위 테스트 (PostWriteBehind) - 트랜잭션/영속성 컨텍스트는 가짜 객체, writer 스레드는 실제로 실행
+@ExtendWith(MockitoExtension.class)
+public class PostWriteBehindUnitTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PostIdFilter postIdFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PostWriteBehind postWriteBehind;
+
+    @BeforeEach
+    public void setUp() {
+        // stub - 요청한 개수만큼 1 부터 차례로 id 할당
+        when(postRepository.reserveIds(anyInt())).thenAnswer(invocation -> LongStream.rangeClosed(1, invocation.<Integer>getArgument(0))
+                .boxed()
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (postWriteBehind != null) {
+            postWriteBehind.stop();
+        }
+    }
+
+    @Test
+    public void 접수후_묶어서저장_테스트() {
+        // given - 3건이 모이면 저장
+        postWriteBehind = writeBehind(10, 3, Duration.ofSeconds(5));
+
+        // when
+        Post first = postWriteBehind.submit(post("게시글 1"));
+        postWriteBehind.submit(post("게시글 2"));
+        Post third = postWriteBehind.submit(post("게시글 3"));
+
+        // then - 접수 즉시 id 가 할당되고, 저장 전까지는 pending 으로 조회됨
+        assertEquals(1L, first.getId());
+        assertEquals(3L, third.getId());
+        verify(postIdFilter).add(1L);
+
+        postWriteBehind.awaitFlushed(third.getId());
+
+        // then - 한 트랜잭션으로 3건 저장 (id 예약 트랜잭션 1 + 묶음 1), commit 이후 전달될 이벤트는 묶음당 1건
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(3)).persist(any(Post.class));
+        verify(eventPublisher, times(1)).publishEvent(any(PostsCreatedEvent.class));
+        assertNull(postWriteBehind.pending(first.getId()));
+        assertEquals(3, postWriteBehind.flushedCount());
+        assertEquals(1, postWriteBehind.batchCount());
+    }
+
+    @Test
+    public void 접수시_길이검증_테스트() {
+        // given
+        postWriteBehind = writeBehind(10, 1, Duration.ofMillis(1));
+
+        // when & then - 저장에 실패할 게시글은 id 를 할당하기 전에 400
+        assertThrows(IllegalArgumentException.class, () -> postWriteBehind.submit(post("x".repeat(Post.MAX_TITLE_LENGTH + 1))));
+        assertThrows(IllegalArgumentException.class, () -> postWriteBehind.submit(Post.builder()
+                .title("게시글")
+                .content("x".repeat(Post.MAX_CONTENT_LENGTH + 1)).build()));
+
+        // then - 다음 접수는 첫번째 id 를 받음
+        assertEquals(1L, postWriteBehind.submit(post("게시글 1")).getId());
+    }
+
+    @Test
+    public void 묶음실패시_한건씩저장_테스트() {
+        // given - 3건 중 1건은 insert 에서 실패
+        postWriteBehind = writeBehind(10, 3, Duration.ofSeconds(5));
+        doAnswer(invocation -> {
+            if ("실패할 게시글".equals(invocation.<Post>getArgument(0).getTitle())) {
+                throw new PersistenceException("insert 실패");
+            }
+            return null;
+        }).when(entityManager).persist(any(Post.class));
+
+        // when
+        Post first = postWriteBehind.submit(post("게시글 1"));
+        Post failed = postWriteBehind.submit(post("실패할 게시글"));
+        Post third = postWriteBehind.submit(post("게시글 3"));
+        postWriteBehind.awaitFlushed(first.getId());
+        postWriteBehind.awaitFlushed(failed.getId());
+        postWriteBehind.awaitFlushed(third.getId());
+
+        // then - 묶음은 rollback, 나머지 2건은 각자의 트랜잭션으로 저장 (id 예약 트랜잭션 1 + 한건씩 2)
+        verify(transactionManager, times(3)).commit(any());
+        verify(eventPublisher, times(2)).publishEvent(any(PostsCreatedEvent.class));
+        assertEquals(2, postWriteBehind.flushedCount());
+        assertEquals(1, postWriteBehind.failedCount());
+        assertEquals(0, postWriteBehind.batchCount());
+        assertNull(postWriteBehind.pending(failed.getId()));
+    }
+
+    @Test
+    public void queue_가득참_테스트() throws InterruptedException {
+        // given - queue 1칸, 한건씩 저장하는데 첫 저장이 끝나지 않음
+        postWriteBehind = writeBehind(1, 1, Duration.ofMillis(1));
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(entityManager).persist(any(Post.class));
+
+        postWriteBehind.submit(post("게시글 1")); // writer 가 가져가서 저장 중
+        waitUntilQueueEmpty();
+        postWriteBehind.submit(post("게시글 2")); // queue 에서 대기
+
+        // when & then - 자리가 나지 않으면 enqueue-timeout 후 503
+        assertThrows(ServiceBusyException.class, () -> postWriteBehind.submit(post("게시글 3")));
+        assertEquals(1, postWriteBehind.rejectedCount());
+
+        release.countDown();
+    }
+
+    @Test
+    public void 종료시_남은게시글저장_테스트() throws InterruptedException {
+        // given - 100건이 모이기 전에 종료
+        postWriteBehind = writeBehind(10, 100, Duration.ofMillis(200));
+        Post first = postWriteBehind.submit(post("게시글 1"));
+        postWriteBehind.submit(post("게시글 2"));
+        assertNotNull(postWriteBehind.pending(first.getId()));
+
+        // when
+        postWriteBehind.stop();
+
+        // then - 남은 게시글을 모두 저장하고, 이후 접수는 거절
+        verify(entityManager, times(2)).persist(any(Post.class));
+        assertEquals(2, postWriteBehind.flushedCount());
+        assertThrows(ServiceBusyException.class, () -> postWriteBehind.submit(post("게시글 3")));
+    }
+
+    private PostWriteBehind writeBehind(int queueCapacity, int flushSize, Duration flushInterval) {
+        PostWriteBehind writeBehind = new PostWriteBehind(postRepository, entityManager, transactionManager, postIdFilter, eventPublisher,
+                true, queueCapacity, flushSize, flushInterval, Duration.ofMillis(10));
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    private void waitUntilQueueEmpty() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (postWriteBehind.queuedCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static Post post(String title) {
+        return Post.builder()
+                .title(title)
+                .content(title + " 내용").build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.unit.shard;
+
+import com.example.demo.shard.PostShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// 단위 테스트 (PostShards) - id -> shard 배정, scatter-gather 병합 (트랜잭션 매니저는 가짜 객체)
+@ExtendWith(MockitoExtension.class)
+public class PostShardsUnitTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostShards postShards;
+
+    @AfterEach
+    public void tearDown() {
+        if (postShards != null) {
+            postShards.shutdown();
+        }
+    }
+
+    @Test
+    public void shardOf_테스트() {
+        // given - shard 3개
+        postShards = new PostShards(transactionManager, true, List.of("shard1", "shard2"));
+
+        // when & then - id 50개 블록 단위로 shard 를 돌아가며 배정
+        assertEquals(3, postShards.count());
+        assertEquals(0, postShards.shardOf(1L));
+        assertEquals(0, postShards.shardOf(50L));
+        assertEquals(1, postShards.shardOf(51L));
+        assertEquals(2, postShards.shardOf(150L));
+        assertEquals(0, postShards.shardOf(151L));
+        assertEquals(0, postShards.shardOf(null));
+    }
+
+    @Test
+    public void gather_테스트() {
+        // given - shard 마다 id 순서로 정렬된 결과
+        postShards = new PostShards(transactionManager, true, List.of("shard1", "shard2"));
+        Map<Integer, List<Long>> rows = Map.of(
+                0, List.of(1L, 2L, 151L),
+                1, List.of(51L, 52L),
+                2, List.of(101L));
+
+        // when - 모든 shard 에서 조회해서 4건
+        List<Long> ids = postShards.gather(() -> rows.get(PostShards.current()), id -> id, 4);
+
+        // then - id 순서로 합쳐서 앞의 4건, 조회가 끝나면 shard 선택이 남아있지 않음
+        assertEquals(List.of(1L, 2L, 51L, 52L), ids);
+        assertNull(PostShards.current());
+    }
+
+    @Test
+    public void sharding_꺼짐_테스트() {
+        // given
+        postShards = new PostShards(transactionManager, false, Collections.emptyList());
+        List<Integer> shards = new ArrayList<>();
+
+        // when - 현재 스레드(트랜잭션)에서 한번만 실행
+        List<Long> ids = postShards.gather(() -> List.of(3L, 1L), id -> id, 10);
+        postShards.forEachShard(() -> shards.add(PostShards.current()));
+
+        // then
+        assertEquals(1, postShards.count());
+        assertEquals(List.of(3L, 1L), ids);
+        assertEquals(Collections.singletonList(null), shards);
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.unit.stats;
+
+import com.example.demo.domain.Post;
+import com.example.demo.dto.post.PostStatsRes;
+import com.example.demo.event.PostChangedEvent;
+import com.example.demo.event.PostsCreatedEvent;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.PostRepositoryCustom;
+import com.example.demo.shard.PostShards;
+import com.example.demo.stats.PostStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 단위 테스트 (PostStats) - DB 없이 이벤트로 집계가 바뀌는지만 확인
+public class PostStatsUnitTest {
+
+    private final PostStats postStats = new PostStats(null, null);
+
+    @Test
+    public void 저장_집계_테스트() {
+        // when - ascii 10 byte, 한글 2글자 6 byte
+        postStats.onPostChanged(PostChangedEvent.created(post(1L, "0123456789")));
+        postStats.onPostChanged(PostChangedEvent.created(post(2L, "한글")));
+
+        // then
+        PostStatsRes stats = postStats.stats();
+        assertFalse(stats.isReady()); // 시작 시 집계 전
+        assertEquals(2, stats.getCount());
+        assertEquals(16, stats.getTotalContentBytes());
+        assertEquals(8.0, stats.getAverageContentBytes());
+        assertEquals(List.of(0L, 2L, 0L, 0L, 0L, 0L, 0L), counts(stats));
+    }
+
+    @Test
+    public void 여러건저장_집계_테스트() {
+        // when - 게시글 대신 id 와 content 크기만 들어있는 이벤트
+        postStats.onPostsCreated(new PostsCreatedEvent(List.of(1L, 2L, 3L), List.of("a", "b", "c"), List.of("", "", ""), new int[]{10, 500, 70000}));
+
+        // then
+        PostStatsRes stats = postStats.stats();
+        assertEquals(3, stats.getCount());
+        assertEquals(70510, stats.getTotalContentBytes());
+        assertEquals(List.of(0L, 1L, 1L, 0L, 0L, 0L, 1L), counts(stats));
+    }
+
+    @Test
+    public void 수정_삭제_반영_테스트() {
+        // given
+        postStats.created(1L, 100);
+        postStats.created(2L, 2000);
+
+        // when - 1번은 크기가 바뀌는 수정, 2번은 크기가 같은 수정 후 삭제 (이벤트의 이전 크기를 뺌)
+        postStats.onPostChanged(PostChangedEvent.updated(post(1L, "x".repeat(300)), 100));
+        postStats.onPostChanged(PostChangedEvent.updated(post(2L, "y".repeat(2000)), 2000));
+        postStats.onPostChanged(PostChangedEvent.deleted(2L, 2000));
+
+        // then
+        PostStatsRes stats = postStats.stats();
+        assertEquals(1, stats.getCount());
+        assertEquals(300, stats.getTotalContentBytes());
+        assertEquals(List.of(0L, 0L, 1L, 0L, 0L, 0L, 0L), counts(stats));
+    }
+
+    @Test
+    public void rebuild_도중_변경_반영_테스트() {
+        // given - rebuild 전에 반영된 생성 (rebuild 가 다시 읽으므로 두번 세지 않아야 함)
+        PostRepository postRepository = mock(PostRepository.class);
+        PostShards postShards = mock(PostShards.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(postShards).forEachShard(any());
+        PostStats stats = new PostStats(postRepository, postShards);
+        stats.created(5L, 10);
+
+        // 각 행을 읽은 직후에 그 게시글의 변경 이벤트가 들어옴
+        doAnswer(invocation -> {
+            PostRepositoryCustom.ContentLengthReader reader = invocation.getArgument(0);
+            reader.read(1L, 0, 100);
+            stats.updated(1L, 1, 100, 300); // 읽은 뒤의 수정 -> 반영
+            reader.read(2L, 1, 2000);
+            stats.updated(2L, 1, 500, 2000); // 읽기 전에 commit 된 수정 (버전 1 을 읽음) -> 무시
+            stats.created(3L, 70); // 읽은 뒤에 생성 -> 반영
+            reader.read(4L, 0, 10);
+            stats.deleted(4L, 10); // 읽은 뒤의 삭제 -> 반영
+            reader.read(5L, 0, 10);
+            return null;
+        }).when(postRepository).readContentLengths(any());
+
+        // when
+        stats.rebuild();
+
+        // then - 1번 (300), 2번 (2000), 3번 (70), 5번 (10)
+        PostStatsRes result = stats.stats();
+        assertTrue(result.isReady());
+        assertEquals(4, result.getCount());
+        assertEquals(2380, result.getTotalContentBytes());
+        assertEquals(List.of(0L, 2L, 1L, 1L, 0L, 0L, 0L), counts(result));
+
+        // then - rebuild 가 끝난 뒤의 이벤트는 바로 반영
+        stats.deleted(3L, 70);
+        assertEquals(3, stats.stats().getCount());
+    }
+
+    @Test
+    public void 빈집계_테스트() {
+        // when
+        PostStatsRes stats = postStats.stats();
+
+        // then - 마지막 구간은 상한 없음
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getAverageContentBytes());
+        assertEquals(PostStats.BUCKET_BOUNDS.length + 1, stats.getHistogram().size());
+        assertNull(stats.getHistogram().get(PostStats.BUCKET_BOUNDS.length).getMaxBytes());
+    }
+
+    private static Post post(Long id, String content) {
+        return Post.builder()
+                .id(id)
+                .title("제목")
+                .content(content)
+                .version(1L).build();
+    }
+
+    private static List<Long> counts(PostStatsRes stats) {
+        return stats.getHistogram().stream()
+                .map(PostStatsRes.Bucket::getCount)
+                .collect(Collectors.toList());
+    }
+}